@@ -0,0 +1,105 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.cluster;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.Diff;
+import org.elasticsearch.cluster.DiffableUtils;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.settings.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the diff of {@code Metadata#indices} between two cluster states. The unchanged index metadata instances are shared by both
+ * maps, as they are between consecutive cluster states. {@link #equalsThenDiff} compares the maps with {@code equals()} before building
+ * the diff, like {@link DiffableUtils#diff} used to do, so that the two can be compared.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class DiffableUtilsBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    private int indices;
+
+    // which index metadata changed, in the iteration order of the previous map
+    @Param({ "none", "first", "last" })
+    private String changed;
+
+    private ImmutableOpenMap<String, IndexMetadata> before;
+    private ImmutableOpenMap<String, IndexMetadata> after;
+
+    @Setup
+    public void setUp() {
+        final ImmutableOpenMap.Builder<String, IndexMetadata> builder = ImmutableOpenMap.builder(indices);
+        for (int i = 0; i < indices; i++) {
+            final String name = "index-" + i;
+            builder.put(
+                name,
+                IndexMetadata.builder(name)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(1)
+                    .build()
+            );
+        }
+        before = builder.build();
+
+        final ImmutableOpenMap.Builder<String, IndexMetadata> afterBuilder = ImmutableOpenMap.builder(before);
+        final IndexMetadata changedIndex = switch (changed) {
+            case "none" -> null;
+            case "first" -> before.values().iterator().next();
+            case "last" -> {
+                IndexMetadata last = null;
+                for (IndexMetadata indexMetadata : before.values()) {
+                    last = indexMetadata;
+                }
+                yield last;
+            }
+            default -> throw new IllegalArgumentException("unknown changed index [" + changed + "]");
+        };
+        if (changedIndex != null) {
+            afterBuilder.put(
+                changedIndex.getIndex().getName(),
+                IndexMetadata.builder(changedIndex).version(changedIndex.getVersion() + 1).build()
+            );
+        }
+        // never the same instance, as that is short-circuited by both variants
+        after = afterBuilder.build();
+    }
+
+    @Benchmark
+    public Diff<ImmutableOpenMap<String, IndexMetadata>> diff() {
+        return DiffableUtils.diff(before, after, DiffableUtils.getStringKeySerializer());
+    }
+
+    @Benchmark
+    public Diff<ImmutableOpenMap<String, IndexMetadata>> equalsThenDiff() {
+        if (before.equals(after)) {
+            return null;
+        }
+        return DiffableUtils.diff(before, after, DiffableUtils.getStringKeySerializer());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.index.mapper;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.index.fieldvisitor.FieldsVisitor;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.SourceLoader;
+import org.elasticsearch.index.mapper.SourceToParse;
+import org.elasticsearch.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of loading {@code _source} for a page of hits when
+ * {@code _source} is stored against when it is synthesized from doc values.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SourceLoaderBenchmark {
+    private static final int DOCS = 10_000;
+
+    @Param({ "stored", "synthetic" })
+    private String source;
+
+    /**
+     * The number of hits loaded per iteration, like a page of search results.
+     */
+    @Param({ "10", "1000" })
+    private int hits;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private SourceLoader sourceLoader;
+    private int[] docIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        MapperService mapperService = MapperServiceFactory.create(String.format(Locale.ROOT, """
+            {
+              "_doc": {
+                "_source": {
+                  "synthetic": %s
+                },
+                "properties": {
+                  "@timestamp": {
+                    "type": "date"
+                  },
+                  "host": {
+                    "type": "keyword"
+                  },
+                  "ip": {
+                    "type": "ip"
+                  },
+                  "bytes": {
+                    "type": "long"
+                  },
+                  "status": {
+                    "type": "integer"
+                  },
+                  "ok": {
+                    "type": "boolean"
+                  },
+                  "message": {
+                    "type": "keyword",
+                    "ignore_above": 32
+                  }
+                }
+              }
+            }
+            """, "synthetic".equals(source)));
+
+        Random random = new Random(0);
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < DOCS; i++) {
+                String doc = String.format(
+                    Locale.ROOT,
+                    """
+                        {"@timestamp":"2022-06-%02dT%02d:%02d:00Z","host":"host-%d","ip":"10.0.%d.%d","bytes":%d,"status":%d,\
+                        "ok":%s,"message":"%s"}""",
+                    random.nextInt(28) + 1,
+                    random.nextInt(24),
+                    random.nextInt(60),
+                    random.nextInt(100),
+                    random.nextInt(256),
+                    random.nextInt(256),
+                    random.nextInt(1_000_000),
+                    random.nextBoolean() ? 200 : 404,
+                    random.nextBoolean(),
+                    "m".repeat(random.nextInt(64))
+                );
+                SourceToParse sourceToParse = new SourceToParse(Integer.toString(i), new BytesArray(doc), XContentType.JSON);
+                iw.addDocuments(mapperService.documentMapper().parse(sourceToParse).docs());
+            }
+            iw.forceMerge(1);
+        }
+
+        reader = DirectoryReader.open(directory);
+        sourceLoader = mapperService.mappingLookup().newSourceLoader();
+        docIds = new int[hits];
+        int step = DOCS / hits;
+        for (int i = 0; i < hits; i++) {
+            docIds[i] = i * step;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public long loadSource() throws IOException {
+        LeafReader leaf = reader.leaves().get(0).reader();
+        SourceLoader.Leaf leafLoader = sourceLoader.leaf(leaf, docIds);
+        long total = 0;
+        for (int docId : docIds) {
+            FieldsVisitor visitor = new FieldsVisitor(true);
+            leaf.document(docId, visitor);
+            BytesReference loaded = leafLoader.source(visitor, docId);
+            total += loaded.length();
+        }
+        return total;
+    }
+}
@@ -98,7 +98,12 @@ public class AllocationBenchmark {
             "       10|     10|        2|    50",
             "      100|      1|        2|    50",
             "      100|      3|        2|    50",
-            "      100|     10|        2|    50" }
+            "      100|     10|        2|    50",
+
+            // large clusters where most indices are balanced on every reroute
+            "     1000|      5|        1|   100",
+            "     5000|      3|        1|   200",
+            "    10000|      3|        1|   500" }
     )
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
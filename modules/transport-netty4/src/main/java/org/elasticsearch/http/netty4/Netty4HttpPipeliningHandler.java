@@ -11,6 +11,7 @@ package org.elasticsearch.http.netty4;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.compression.JdkZlibEncoder;
@@ -26,9 +27,12 @@ import io.netty.util.concurrent.PromiseCombiner;
 
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.core.Booleans;
 import org.elasticsearch.core.Tuple;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.transport.Transports;
+import org.elasticsearch.transport.netty4.Netty4Utils;
 import org.elasticsearch.transport.netty4.NettyAllocator;
 
 import java.nio.channels.ClosedChannelException;
@@ -47,7 +51,7 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
     private final Logger logger;
 
     private final int maxEventsHeld;
-    private final PriorityQueue<Tuple<Netty4HttpResponse, ChannelPromise>> outboundHoldingQueue;
+    private final PriorityQueue<Tuple<Netty4RestResponse, ChannelPromise>> outboundHoldingQueue;
 
     /*
      * The current read and write sequence numbers. Read sequence numbers are attached to requests in the order they are read from the
@@ -61,9 +65,11 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
      * Queue of pending writes that are flushed as the channel becomes writable. Queuing operations here instead of passing them to
      * {@link ChannelHandlerContext#write} straight away prevents us from allocating buffers for operations that can not be written
      * to the channel at the moment needlessly in case compression is used which creates buffers containing the compressed content
-     * in {@link io.netty.handler.codec.http.HttpContentCompressor#write}.
+     * in {@link io.netty.handler.codec.http.HttpContentCompressor#write}. The body of a {@link Netty4ChunkedHttpResponse} is queued as a
+     * single {@link ChunkedWrite} which stays at the head of the queue, serializing one chunk each time the channel is writable, until the
+     * whole body has been written.
      */
-    private final Queue<WriteOperation> queuedWrites = new ArrayDeque<>();
+    private final Queue<PendingWrite> queuedWrites = new ArrayDeque<>();
 
     private final Netty4HttpServerTransport serverTransport;
 
@@ -120,10 +126,10 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
 
     @Override
     public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
-        assert msg instanceof Netty4HttpResponse : "Invalid message type: " + msg.getClass();
+        assert msg instanceof Netty4RestResponse : "Invalid message type: " + msg.getClass();
         boolean success = false;
         try {
-            final Netty4HttpResponse response = (Netty4HttpResponse) msg;
+            final Netty4RestResponse response = (Netty4RestResponse) msg;
             if (response.getSequence() != writeSequence) {
                 assert response.getSequence() > writeSequence
                     : "response sequence [" + response.getSequence() + "] we below write sequence [" + writeSequence + "]";
@@ -145,7 +151,7 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
             success = true;
             // see if we have any queued up responses that became writeable due to the above write
             while (outboundHoldingQueue.isEmpty() == false && outboundHoldingQueue.peek().v1().getSequence() == writeSequence) {
-                final Tuple<Netty4HttpResponse, ChannelPromise> top = outboundHoldingQueue.poll();
+                final Tuple<Netty4RestResponse, ChannelPromise> top = outboundHoldingQueue.poll();
                 assert top != null : "we know the outbound holding queue to not be empty at this point";
                 doWrite(ctx, top.v1(), top.v2());
             }
@@ -172,15 +178,27 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
     /**
      * Split up large responses to prevent batch compression {@link JdkZlibEncoder} down the pipeline.
      */
-    private void doWrite(ChannelHandlerContext ctx, Netty4HttpResponse readyResponse, ChannelPromise promise) {
-        if (DO_NOT_SPLIT_HTTP_RESPONSES || readyResponse.content().readableBytes() <= SPLIT_THRESHOLD) {
-            enqueueWrite(ctx, readyResponse, promise);
+    private void doWrite(ChannelHandlerContext ctx, Netty4RestResponse readyResponse, ChannelPromise promise) {
+        if (readyResponse instanceof Netty4ChunkedHttpResponse chunkedResponse) {
+            writeChunked(ctx, chunkedResponse, promise);
+        } else if (DO_NOT_SPLIT_HTTP_RESPONSES || ((Netty4HttpResponse) readyResponse).content().readableBytes() <= SPLIT_THRESHOLD) {
+            enqueueWrite(ctx, (Netty4HttpResponse) readyResponse, promise);
         } else {
-            splitAndWrite(ctx, readyResponse, promise);
+            splitAndWrite(ctx, (Netty4HttpResponse) readyResponse, promise);
         }
         writeSequence++;
     }
 
+    /**
+     * Writes the headers of a chunked response and queues its body, which is serialized chunk by chunk in {@link #doFlush} while the
+     * channel is writable. Any responses written after this one are queued behind its body.
+     */
+    private void writeChunked(ChannelHandlerContext ctx, Netty4ChunkedHttpResponse response, ChannelPromise promise) {
+        final PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+        combiner.add(enqueueWrite(ctx, response));
+        queuedWrites.add(new ChunkedWrite(response.body(), combiner, promise));
+    }
+
     private void splitAndWrite(ChannelHandlerContext ctx, Netty4HttpResponse msg, ChannelPromise promise) {
         final PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
         HttpResponse response = new DefaultHttpResponse(msg.protocolVersion(), msg.status(), msg.headers());
@@ -227,11 +245,16 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         }
         boolean needsFlush = true;
         while (channel.isWritable()) {
-            final WriteOperation currentWrite = queuedWrites.poll();
+            final PendingWrite currentWrite = queuedWrites.peek();
             if (currentWrite == null) {
                 break;
             }
-            ctx.write(currentWrite.msg, currentWrite.promise);
+            if (currentWrite instanceof WriteOperation writeOperation) {
+                queuedWrites.poll();
+                ctx.write(writeOperation.msg, writeOperation.promise);
+            } else if (writeChunk(ctx, (ChunkedWrite) currentWrite)) {
+                queuedWrites.poll();
+            }
             needsFlush = true;
             if (channel.isWritable() == false) {
                 // try flushing to make channel writable again, loop will only continue if channel becomes writable again
@@ -248,8 +271,36 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         return true;
     }
 
+    /**
+     * Serializes and writes the next chunk of the body of a chunked response.
+     *
+     * @return true if this was the last chunk of the body, or the body failed to serialize
+     */
+    private boolean writeChunk(ChannelHandlerContext ctx, ChunkedWrite chunkedWrite) {
+        final ChunkedRestResponseBody body = chunkedWrite.body;
+        final ReleasableBytesReference bytes;
+        try {
+            bytes = body.encodeChunk(SPLIT_THRESHOLD, NettyAllocator.getRecycler());
+        } catch (Exception e) {
+            // the headers have been sent already so we cannot send an error response, all we can do is close the connection
+            logger.error("failed to serialize chunked http response body, closing connection", e);
+            chunkedWrite.promise.tryFailure(e);
+            ctx.channel().close();
+            return true;
+        }
+        final boolean isLast = body.isDone();
+        final ByteBuf content = Netty4Utils.toByteBuf(bytes);
+        final ChannelFuture future = ctx.write(isLast ? new DefaultLastHttpContent(content) : new DefaultHttpContent(content));
+        future.addListener(f -> bytes.close());
+        chunkedWrite.combiner.add(future);
+        if (isLast) {
+            chunkedWrite.combiner.finish(chunkedWrite.promise);
+        }
+        return isLast;
+    }
+
     private void failQueuedWrites() {
-        WriteOperation queuedWrite;
+        PendingWrite queuedWrite;
         while ((queuedWrite = queuedWrites.poll()) != null) {
             queuedWrite.failAsClosedChannel();
         }
@@ -257,11 +308,11 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
 
     @Override
     public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
-        List<Tuple<Netty4HttpResponse, ChannelPromise>> inflightResponses = removeAllInflightResponses();
+        List<Tuple<Netty4RestResponse, ChannelPromise>> inflightResponses = removeAllInflightResponses();
 
         if (inflightResponses.isEmpty() == false) {
             ClosedChannelException closedChannelException = new ClosedChannelException();
-            for (Tuple<Netty4HttpResponse, ChannelPromise> inflightResponse : inflightResponses) {
+            for (Tuple<Netty4RestResponse, ChannelPromise> inflightResponse : inflightResponses) {
                 try {
                     inflightResponse.v2().setFailure(closedChannelException);
                 } catch (RuntimeException e) {
@@ -299,17 +350,30 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         }
     }
 
-    private List<Tuple<Netty4HttpResponse, ChannelPromise>> removeAllInflightResponses() {
-        ArrayList<Tuple<Netty4HttpResponse, ChannelPromise>> responses = new ArrayList<>(outboundHoldingQueue);
+    private List<Tuple<Netty4RestResponse, ChannelPromise>> removeAllInflightResponses() {
+        ArrayList<Tuple<Netty4RestResponse, ChannelPromise>> responses = new ArrayList<>(outboundHoldingQueue);
         outboundHoldingQueue.clear();
         return responses;
     }
 
-    private record WriteOperation(HttpObject msg, ChannelPromise promise) {
+    private sealed interface PendingWrite permits WriteOperation, ChunkedWrite {
+        void failAsClosedChannel();
+    }
+
+    private record WriteOperation(HttpObject msg, ChannelPromise promise) implements PendingWrite {
 
-        void failAsClosedChannel() {
+        @Override
+        public void failAsClosedChannel() {
             promise.tryFailure(new ClosedChannelException());
             ReferenceCountUtil.release(msg);
         }
     }
+
+    private record ChunkedWrite(ChunkedRestResponseBody body, PromiseCombiner combiner, ChannelPromise promise) implements PendingWrite {
+
+        @Override
+        public void failAsClosedChannel() {
+            promise.tryFailure(new ClosedChannelException());
+        }
+    }
 }
@@ -0,0 +1,20 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.http.netty4;
+
+import org.elasticsearch.http.HttpResponse;
+
+/**
+ * A response to a {@link Netty4HttpRequest}, which is written to the channel by the {@link Netty4HttpPipeliningHandler} in the order of
+ * its {@link #getSequence() sequence number}.
+ */
+public sealed interface Netty4RestResponse extends HttpResponse permits Netty4HttpResponse, Netty4ChunkedHttpResponse {
+
+    int getSequence();
+
+}
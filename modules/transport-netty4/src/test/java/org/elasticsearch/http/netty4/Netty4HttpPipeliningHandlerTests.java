@@ -15,13 +15,21 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
 
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.Randomness;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
-import org.elasticsearch.http.HttpResponse;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
+import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.After;
@@ -36,6 +44,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -197,6 +206,62 @@ public class Netty4HttpPipeliningHandlerTests extends ESTestCase {
         }
     }
 
+    public void testChunkedResponseIsSerializedOnlyWhileChannelIsWritable() {
+        final EmbeddedChannel embeddedChannel = new EmbeddedChannel(new Netty4HttpPipeliningHandler(logger, 2, null) {
+            @Override
+            protected void handlePipelinedRequest(ChannelHandlerContext ctx, Netty4HttpRequest pipelinedRequest) {
+                ctx.fireChannelRead(pipelinedRequest);
+            }
+        });
+        embeddedChannel.writeInbound(createHttpRequest("/chunked"));
+        embeddedChannel.writeInbound(createHttpRequest("/full"));
+        final Netty4HttpRequest chunkedRequest = embeddedChannel.readInbound();
+        final Netty4HttpRequest fullRequest = embeddedChannel.readInbound();
+
+        final int chunks = randomIntBetween(2, 10);
+        final AtomicInteger encodedChunks = new AtomicInteger();
+        final ChunkedRestResponseBody body = new ChunkedRestResponseBody() {
+            @Override
+            public boolean isDone() {
+                return encodedChunks.get() == chunks;
+            }
+
+            @Override
+            public ReleasableBytesReference encodeChunk(int sizeHint, Recycler<BytesRef> recycler) {
+                assertFalse(isDone());
+                return ReleasableBytesReference.wrap(new BytesArray(Integer.toString(encodedChunks.getAndIncrement())));
+            }
+
+            @Override
+            public String getResponseContentTypeString() {
+                return RestResponse.TEXT_CONTENT_TYPE;
+            }
+        };
+
+        embeddedChannel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        final ChannelPromise chunkedPromise = embeddedChannel.newPromise();
+        embeddedChannel.writeAndFlush(chunkedRequest.createResponse(RestStatus.OK, body), chunkedPromise);
+        final ChannelPromise fullPromise = embeddedChannel.newPromise();
+        embeddedChannel.writeAndFlush(fullRequest.createResponse(RestStatus.OK, new BytesArray("full")), fullPromise);
+        assertThat(encodedChunks.get(), is(0));
+        assertFalse(chunkedPromise.isDone());
+
+        embeddedChannel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        assertThat(encodedChunks.get(), is(chunks));
+        assertTrue(chunkedPromise.isSuccess());
+        assertTrue(fullPromise.isSuccess());
+
+        final HttpResponse headers = (HttpResponse) embeddedChannel.outboundMessages().poll();
+        assertTrue(HttpUtil.isTransferEncodingChunked(headers));
+        for (int i = 0; i < chunks; i++) {
+            final HttpContent content = (HttpContent) embeddedChannel.outboundMessages().poll();
+            assertThat(content instanceof LastHttpContent, is(i == chunks - 1));
+            assertThat(content.content().toString(StandardCharsets.UTF_8), is(Integer.toString(i)));
+        }
+        assertReadHttpMessageHasContent(embeddedChannel, "full");
+        assertTrue(embeddedChannel.isOpen());
+    }
+
     private void assertReadHttpMessageHasContent(EmbeddedChannel embeddedChannel, String expectedContent) {
         FullHttpResponse response = (FullHttpResponse) embeddedChannel.outboundMessages().poll();
         assertNotNull("Expected response to exist, maybe you did not wait long enough?", response);
@@ -217,7 +282,7 @@ public class Netty4HttpPipeliningHandlerTests extends ESTestCase {
 
             final String uri = decoder.path().replace("/", "");
             final BytesReference content = new BytesArray(uri.getBytes(StandardCharsets.UTF_8));
-            HttpResponse httpResponse = request.createResponse(RestStatus.OK, content);
+            Netty4HttpResponse httpResponse = request.createResponse(RestStatus.OK, content);
             httpResponse.addHeader(CONTENT_LENGTH.toString(), Integer.toString(content.length()));
 
             final CountDownLatch waitingLatch = new CountDownLatch(1);
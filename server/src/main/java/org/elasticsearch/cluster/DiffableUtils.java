@@ -61,9 +61,9 @@ public final class DiffableUtils {
         KeySerializer<K> keySerializer
     ) {
         assert after != null && before != null;
-        return before.equals(after)
+        return before == after
             ? emptyDiff()
-            : ImmutableOpenMapDiff.create(before, after, keySerializer, DiffableValueSerializer.getWriteOnlyInstance());
+            : diffOrEmpty(ImmutableOpenMapDiff.create(before, after, keySerializer, DiffableValueSerializer.getWriteOnlyInstance()));
     }
 
     /**
@@ -76,7 +76,7 @@ public final class DiffableUtils {
         ValueSerializer<K, T> valueSerializer
     ) {
         assert after != null && before != null;
-        return before.equals(after) ? emptyDiff() : ImmutableOpenMapDiff.create(before, after, keySerializer, valueSerializer);
+        return before == after ? emptyDiff() : diffOrEmpty(ImmutableOpenMapDiff.create(before, after, keySerializer, valueSerializer));
     }
 
     /**
@@ -88,9 +88,9 @@ public final class DiffableUtils {
         KeySerializer<K> keySerializer
     ) {
         assert after != null && before != null;
-        return before.equals(after)
+        return before == after
             ? emptyDiff()
-            : JdkMapDiff.create(before, after, keySerializer, DiffableValueSerializer.getWriteOnlyInstance());
+            : diffOrEmpty(JdkMapDiff.create(before, after, keySerializer, DiffableValueSerializer.getWriteOnlyInstance()));
     }
 
     /**
@@ -103,7 +103,7 @@ public final class DiffableUtils {
         ValueSerializer<K, T> valueSerializer
     ) {
         assert after != null && before != null;
-        return before.equals(after) ? emptyDiff() : JdkMapDiff.create(before, after, keySerializer, valueSerializer);
+        return before == after ? emptyDiff() : diffOrEmpty(JdkMapDiff.create(before, after, keySerializer, valueSerializer));
     }
 
     @SuppressWarnings("unchecked")
@@ -158,6 +158,7 @@ public final class DiffableUtils {
 
     private static <K, T, H> MapDiff<K, T, H> diffOrEmpty(MapDiff<K, T, H> diff) {
         // TODO: refactor map diff reading to avoid having to construct empty diffs before throwing them away here
+        // diff() also goes through here, as it builds the diff of maps that are not the same instance without comparing them first
         if (diff.getUpserts().isEmpty() && diff.getDiffs().isEmpty() && diff.getDeletes().isEmpty()) {
             return emptyDiff();
         }
@@ -0,0 +1,69 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.cluster.coordination;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Stats about writing the cluster state to disk on this node.
+ *
+ * @param fullWriteCount the number of times the full cluster state was written
+ * @param fullWriteTimeMillis the total time spent writing full cluster states, including committing them
+ * @param incrementalWriteCount the number of times only the changes to the cluster state were written
+ * @param incrementalWriteTimeMillis the total time spent writing changes to the cluster state, including committing them
+ * @param commitCount the number of commits, which includes those that only record a new term
+ * @param commitTimeMillis the total time spent committing and syncing to disk
+ */
+public record ClusterStatePersistenceStats(
+    long fullWriteCount,
+    long fullWriteTimeMillis,
+    long incrementalWriteCount,
+    long incrementalWriteTimeMillis,
+    long commitCount,
+    long commitTimeMillis
+) implements Writeable, ToXContentFragment {
+
+    public ClusterStatePersistenceStats(StreamInput in) throws IOException {
+        this(in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(fullWriteCount);
+        out.writeVLong(fullWriteTimeMillis);
+        out.writeVLong(incrementalWriteCount);
+        out.writeVLong(incrementalWriteTimeMillis);
+        out.writeVLong(commitCount);
+        out.writeVLong(commitTimeMillis);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("cluster_state_persistence");
+        writeTimedCount(builder, "full_writes", fullWriteCount, fullWriteTimeMillis);
+        writeTimedCount(builder, "incremental_writes", incrementalWriteCount, incrementalWriteTimeMillis);
+        writeTimedCount(builder, "commits", commitCount, commitTimeMillis);
+        builder.endObject();
+        return builder;
+    }
+
+    private static void writeTimedCount(XContentBuilder builder, String name, long count, long timeMillis) throws IOException {
+        builder.startObject(name);
+        builder.field("count", count);
+        builder.humanReadableField("total_time_millis", "total_time", TimeValue.timeValueMillis(timeMillis));
+        builder.endObject();
+    }
+}
@@ -13,6 +13,7 @@ import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.coordination.CoordinationMetadata.VotingConfiguration;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.core.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -580,6 +581,14 @@ public class CoordinationState {
             }
         }
 
+        /**
+         * Returns stats about writing the cluster state to disk, or {@code null} if this state isn't persisted to disk.
+         */
+        @Nullable
+        default ClusterStatePersistenceStats getStats() {
+            return null;
+        }
+
         default void close() throws IOException {}
     }
 
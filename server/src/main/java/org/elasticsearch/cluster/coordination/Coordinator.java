@@ -941,7 +941,8 @@ public class Coordinator extends AbstractLifecycleComponent implements ClusterSt
             new PendingClusterStateStats(0, 0, 0),
             publicationHandler.stats(),
             getLocalNode().isMasterNode() ? masterService.getClusterStateUpdateStats() : null,
-            clusterApplier.getStats()
+            clusterApplier.getStats(),
+            persistedStateSupplier.get().getStats()
         );
     }
 
@@ -73,6 +73,9 @@ public class RoutingAllocation {
 
     private final Map<String, SingleNodeShutdownMetadata> nodeReplacementTargets;
 
+    private final AllocationDeciders.IndexAndNodeScopedDecisions indexAndNodeScopedDecisions =
+        new AllocationDeciders.IndexAndNodeScopedDecisions();
+
     public RoutingAllocation(
         AllocationDeciders deciders,
         ClusterState clusterState,
@@ -128,6 +131,13 @@ public class RoutingAllocation {
         return this.deciders;
     }
 
+    /**
+     * Decisions cached by {@link AllocationDeciders} for the rest of this allocation, which only it can read or update.
+     */
+    public AllocationDeciders.IndexAndNodeScopedDecisions indexAndNodeScopedDecisions() {
+        return indexAndNodeScopedDecisions;
+    }
+
     /**
      * Get routing table of current nodes
      * @return current routing table
@@ -96,6 +96,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
     private volatile WeightFunction weightFunction;
     private volatile float threshold;
+    private final boolean skipBalancedIndices;
 
     public BalancedShardsAllocator(Settings settings) {
         this(settings, new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS));
@@ -103,6 +104,12 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
     @Inject
     public BalancedShardsAllocator(Settings settings, ClusterSettings clusterSettings) {
+        this(settings, clusterSettings, true);
+    }
+
+    // package-private for testing, so that rebalancing can be compared with and without skipping the balanced indices
+    BalancedShardsAllocator(Settings settings, ClusterSettings clusterSettings, boolean skipBalancedIndices) {
+        this.skipBalancedIndices = skipBalancedIndices;
         setWeightFunction(INDEX_BALANCE_FACTOR_SETTING.get(settings), SHARD_BALANCE_FACTOR_SETTING.get(settings));
         setThreshold(THRESHOLD_SETTING.get(settings));
         clusterSettings.addSettingsUpdateConsumer(INDEX_BALANCE_FACTOR_SETTING, SHARD_BALANCE_FACTOR_SETTING, this::setWeightFunction);
@@ -123,7 +130,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             failAllocationOfNewPrimaries(allocation);
             return;
         }
-        final Balancer balancer = new Balancer(logger, allocation, weightFunction, threshold);
+        final Balancer balancer = new Balancer(logger, allocation, weightFunction, threshold, skipBalancedIndices);
         balancer.allocateUnassigned();
         balancer.moveShards();
         balancer.balance();
@@ -258,8 +265,14 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         private final Metadata metadata;
         private final float avgShardsPerNode;
         private final NodeSorter sorter;
+        private final boolean skipBalancedIndices;
 
         public Balancer(Logger logger, RoutingAllocation allocation, WeightFunction weight, float threshold) {
+            this(logger, allocation, weight, threshold, true);
+        }
+
+        Balancer(Logger logger, RoutingAllocation allocation, WeightFunction weight, float threshold, boolean skipBalancedIndices) {
+            this.skipBalancedIndices = skipBalancedIndices;
             this.logger = logger;
             this.allocation = allocation;
             this.weight = weight;
@@ -488,8 +501,23 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final AllocationDeciders deciders = allocation.deciders();
             final ModelNode[] modelNodes = sorter.modelNodes;
             final float[] weights = sorter.weights;
-            for (String index : buildWeightOrderedIndices()) {
+            final String[] indices = buildWeightOrderedIndices();
+            /*
+             * Every index starts from the same order of the nodes. The sorting of the nodes is not stable, so otherwise the order in
+             * which equally weighted nodes are considered would depend on the order that the previous indices left behind, and
+             * skipping an index would change where the shards of the following indices go.
+             */
+            final ModelNode[] initialNodeOrder = modelNodes.clone();
+            for (String index : indices) {
+                if (skipBalancedIndices && lessThan(weightDelta(index), threshold)) {
+                    /*
+                     * The spread of weights across all nodes bounds the spread across any subset of them so no relocation
+                     * of this index could bring us closer to balance. Skip it before asking the deciders about every node.
+                     */
+                    continue;
+                }
                 IndexMetadata indexMetadata = metadata.index(index);
+                System.arraycopy(initialNodeOrder, 0, modelNodes, 0, modelNodes.length);
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
                 // move these nodes to the front of modelNodes so that we can only balance based on these nodes
@@ -622,8 +650,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final String[] indices = allocation.routingTable().indicesRouting().keySet().toArray(new String[0]);
             final float[] deltas = new float[indices.length];
             for (int i = 0; i < deltas.length; i++) {
-                sorter.reset(indices[i]);
-                deltas[i] = sorter.delta();
+                deltas[i] = weightDelta(indices[i]);
             }
             new IntroSorter() {
 
@@ -658,6 +685,22 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             return indices;
         }
 
+        /**
+         * The difference between the highest and the lowest weight of any node
+         * with respect to the given index. Unlike {@link NodeSorter#reset(String)}
+         * this doesn't sort the nodes.
+         */
+        private float weightDelta(String index) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (ModelNode node : sorter.modelNodes) {
+                float w = weight.weight(this, node, index);
+                min = Math.min(min, w);
+                max = Math.max(max, w);
+            }
+            return sorter.modelNodes.length == 0 ? 0 : max - min;
+        }
+
         /**
          * Move started shards that can not be allocated to a node anymore
          *
@@ -1273,9 +1316,5 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         protected int comparePivot(int j) {
             return Float.compare(pivotWeight, weights[j]);
         }
-
-        public float delta() {
-            return weights[weights.length - 1] - weights[0];
-        }
     }
 }
@@ -38,6 +38,21 @@ public abstract class AllocationDecider {
         return Decision.ALWAYS;
     }
 
+    /**
+     * Returns {@code true} if this decider returns the same decision from
+     * {@link #canAllocate(ShardRouting, RoutingNode, RoutingAllocation)} and
+     * from {@link #canRemain(ShardRouting, RoutingNode, RoutingAllocation)} for
+     * the given shard as it does for every other such shard of the same index
+     * on the same node. These decisions may only depend on the index metadata,
+     * the node and the settings, never on the routing of any shard because that
+     * changes during the allocation. {@link AllocationDeciders} caches such
+     * decisions per index and node for the rest of the {@link RoutingAllocation}.
+     * The default is {@code false}.
+     */
+    public boolean hasIndexAndNodeScopedDecisions(ShardRouting shardRouting) {
+        return false;
+    }
+
     /**
      * Returns a {@link Decision} whether the given shard routing can be remain
      * on the given node. The default is {@link Decision#ALWAYS}.
@@ -15,8 +15,11 @@ import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.routing.RoutingNode;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.index.Index;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Combines the decision of multiple {@link AllocationDecider} implementations into a single allocation decision.
@@ -54,8 +57,9 @@ public class AllocationDeciders {
             return Decision.NO;
         }
         Decision.Multi ret = new Decision.Multi();
-        for (AllocationDecider allocationDecider : allocations) {
-            Decision decision = allocationDecider.canAllocate(shardRouting, node, allocation);
+        for (int i = 0; i < allocations.length; i++) {
+            AllocationDecider allocationDecider = allocations[i];
+            Decision decision = canAllocate(i, shardRouting, node, allocation);
             // short track if a NO is returned.
             if (decision.type() == Decision.Type.NO) {
                 if (logger.isTraceEnabled()) {
@@ -102,10 +106,10 @@ public class AllocationDeciders {
         } else {
             // tighter loop if debug information is not collected: don't collect yes decisions + break out right away on NO
             Decision ret = Decision.YES;
-            for (AllocationDecider allocationDecider : allocations) {
-                switch (allocationDecider.canRemain(shardRouting, node, allocation).type()) {
+            for (int i = 0; i < allocations.length; i++) {
+                switch (canRemain(i, shardRouting, node, allocation).type()) {
                     case NO -> {
-                        maybeTraceLogNoDecision(shardRouting, node, allocationDecider);
+                        maybeTraceLogNoDecision(shardRouting, node, allocations[i]);
                         return Decision.NO;
                     }
                     case THROTTLE -> ret = Decision.THROTTLE;
@@ -115,6 +119,39 @@ public class AllocationDeciders {
         }
     }
 
+    private Decision canAllocate(int decider, ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+        AllocationDecider allocationDecider = allocations[decider];
+        if (allocation.debugDecision() || allocationDecider.hasIndexAndNodeScopedDecisions(shardRouting) == false) {
+            return allocationDecider.canAllocate(shardRouting, node, allocation);
+        }
+        return allocation.indexAndNodeScopedDecisions().decisions.computeIfAbsent(
+            new IndexAndNodeKey(decider, false, shardRouting.index(), node.nodeId()),
+            k -> allocationDecider.canAllocate(shardRouting, node, allocation)
+        );
+    }
+
+    private Decision canRemain(int decider, ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+        AllocationDecider allocationDecider = allocations[decider];
+        if (allocationDecider.hasIndexAndNodeScopedDecisions(shardRouting) == false) {
+            return allocationDecider.canRemain(shardRouting, node, allocation);
+        }
+        return allocation.indexAndNodeScopedDecisions().decisions.computeIfAbsent(
+            new IndexAndNodeKey(decider, true, shardRouting.index(), node.nodeId()),
+            k -> allocationDecider.canRemain(shardRouting, node, allocation)
+        );
+    }
+
+    /**
+     * Decisions of the deciders that only depend on the index and the node, see
+     * {@link AllocationDecider#hasIndexAndNodeScopedDecisions}. Each {@link RoutingAllocation} holds its own instance, which only
+     * {@link AllocationDeciders} can read or update.
+     */
+    public static final class IndexAndNodeScopedDecisions {
+        private final Map<IndexAndNodeKey, Decision> decisions = new HashMap<>();
+    }
+
+    private record IndexAndNodeKey(int decider, boolean canRemain, Index index, String nodeId) {}
+
     private void maybeTraceLogNoDecision(ShardRouting shardRouting, RoutingNode node, AllocationDecider allocationDecider) {
         if (logger.isTraceEnabled()) {
             logger.trace(
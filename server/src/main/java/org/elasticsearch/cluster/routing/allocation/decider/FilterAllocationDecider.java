@@ -110,6 +110,12 @@ public class FilterAllocationDecider extends AllocationDecider {
         return shouldFilter(indexMetadata, node.node(), allocation);
     }
 
+    @Override
+    public boolean hasIndexAndNodeScopedDecisions(ShardRouting shardRouting) {
+        // the initial recovery filters of a shrunken index only apply to the unassigned shards
+        return shardRouting.unassigned() == false || shardRouting.recoverySource().getType() != RecoverySource.Type.LOCAL_SHARDS;
+    }
+
     @Override
     public Decision canRemain(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
         return shouldFilter(shardRouting, node.node(), allocation);
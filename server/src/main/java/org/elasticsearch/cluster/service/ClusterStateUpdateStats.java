@@ -9,6 +9,7 @@
 package org.elasticsearch.cluster.service;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.common.Priority;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
@@ -17,6 +18,8 @@ import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -46,6 +49,8 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
     private final long failedMasterApplyElapsedMillis;
     private final long failedNotificationElapsedMillis;
 
+    private final Map<Priority, QueueingStats> queueingStats;
+
     public ClusterStateUpdateStats(
         long unchangedTaskCount,
         long publicationSuccessCount,
@@ -66,6 +71,52 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         long failedCompletionElapsedMillis,
         long failedMasterApplyElapsedMillis,
         long failedNotificationElapsedMillis
+    ) {
+        this(
+            unchangedTaskCount,
+            publicationSuccessCount,
+            publicationFailureCount,
+            unchangedComputationElapsedMillis,
+            unchangedNotificationElapsedMillis,
+            successfulComputationElapsedMillis,
+            successfulPublicationElapsedMillis,
+            successfulContextConstructionElapsedMillis,
+            successfulCommitElapsedMillis,
+            successfulCompletionElapsedMillis,
+            successfulMasterApplyElapsedMillis,
+            successfulNotificationElapsedMillis,
+            failedComputationElapsedMillis,
+            failedPublicationElapsedMillis,
+            failedContextConstructionElapsedMillis,
+            failedCommitElapsedMillis,
+            failedCompletionElapsedMillis,
+            failedMasterApplyElapsedMillis,
+            failedNotificationElapsedMillis,
+            Map.of()
+        );
+    }
+
+    public ClusterStateUpdateStats(
+        long unchangedTaskCount,
+        long publicationSuccessCount,
+        long publicationFailureCount,
+        long unchangedComputationElapsedMillis,
+        long unchangedNotificationElapsedMillis,
+        long successfulComputationElapsedMillis,
+        long successfulPublicationElapsedMillis,
+        long successfulContextConstructionElapsedMillis,
+        long successfulCommitElapsedMillis,
+        long successfulCompletionElapsedMillis,
+        long successfulMasterApplyElapsedMillis,
+        long successfulNotificationElapsedMillis,
+        long failedComputationElapsedMillis,
+        long failedPublicationElapsedMillis,
+        long failedContextConstructionElapsedMillis,
+        long failedCommitElapsedMillis,
+        long failedCompletionElapsedMillis,
+        long failedMasterApplyElapsedMillis,
+        long failedNotificationElapsedMillis,
+        Map<Priority, QueueingStats> queueingStats
     ) {
         this.unchangedTaskCount = nonNegative(unchangedTaskCount);
         this.publicationSuccessCount = nonNegative(publicationSuccessCount);
@@ -86,6 +137,7 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         this.failedCompletionElapsedMillis = nonNegative(failedCompletionElapsedMillis);
         this.failedMasterApplyElapsedMillis = nonNegative(failedMasterApplyElapsedMillis);
         this.failedNotificationElapsedMillis = nonNegative(failedNotificationElapsedMillis);
+        this.queueingStats = Map.copyOf(queueingStats);
     }
 
     private static long nonNegative(long v) {
@@ -113,6 +165,11 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         this.failedCompletionElapsedMillis = in.readVLong();
         this.failedMasterApplyElapsedMillis = in.readVLong();
         this.failedNotificationElapsedMillis = in.readVLong();
+        if (in.getVersion().onOrAfter(Version.V_8_4_0)) {
+            this.queueingStats = in.readImmutableMap(Priority::readFrom, QueueingStats::new);
+        } else {
+            this.queueingStats = Map.of();
+        }
     }
 
     @Override
@@ -137,6 +194,9 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         out.writeVLong(failedCompletionElapsedMillis);
         out.writeVLong(failedMasterApplyElapsedMillis);
         out.writeVLong(failedNotificationElapsedMillis);
+        if (out.getVersion().onOrAfter(Version.V_8_4_0)) {
+            out.writeMap(queueingStats, (o, priority) -> Priority.writeTo(priority, o), (o, stats) -> stats.writeTo(o));
+        }
     }
 
     public static ClusterStateUpdateStats EMPTY = new ClusterStateUpdateStats(
@@ -237,6 +297,13 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         return failedNotificationElapsedMillis;
     }
 
+    /**
+     * @return how long the tasks executed by the master service waited in its queue, by the priority with which they were submitted
+     */
+    public Map<Priority, QueueingStats> getQueueingStats() {
+        return queueingStats;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject("cluster_state_update");
@@ -269,6 +336,21 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
         msField(builder, "notification", failedNotificationElapsedMillis);
         builder.endObject();
 
+        if (queueingStats.isEmpty() == false) {
+            builder.startObject("queueing");
+            for (Priority priority : Priority.values()) {
+                final QueueingStats stats = queueingStats.get(priority);
+                if (stats != null) {
+                    builder.startObject(priority.toString().toLowerCase(Locale.ROOT));
+                    builder.field("count", stats.taskCount());
+                    msField(builder, "total_queued", stats.totalQueuedMillis());
+                    msField(builder, "max_queued", stats.maxQueuedMillis());
+                    builder.endObject();
+                }
+            }
+            builder.endObject();
+        }
+
         builder.endObject();
         return builder;
     }
@@ -300,7 +382,8 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
             && failedCommitElapsedMillis == that.failedCommitElapsedMillis
             && failedCompletionElapsedMillis == that.failedCompletionElapsedMillis
             && failedMasterApplyElapsedMillis == that.failedMasterApplyElapsedMillis
-            && failedNotificationElapsedMillis == that.failedNotificationElapsedMillis;
+            && failedNotificationElapsedMillis == that.failedNotificationElapsedMillis
+            && queueingStats.equals(that.queueingStats);
     }
 
     @Override
@@ -324,7 +407,35 @@ public class ClusterStateUpdateStats implements Writeable, ToXContentFragment {
             failedCommitElapsedMillis,
             failedCompletionElapsedMillis,
             failedMasterApplyElapsedMillis,
-            failedNotificationElapsedMillis
+            failedNotificationElapsedMillis,
+            queueingStats
         );
     }
+
+    /**
+     * How long the tasks with a particular priority waited in the master service's queue before being executed.
+     *
+     * @param taskCount the number of tasks executed
+     * @param totalQueuedMillis the total time these tasks spent queued
+     * @param maxQueuedMillis the longest time that any one of these tasks spent queued
+     */
+    public record QueueingStats(long taskCount, long totalQueuedMillis, long maxQueuedMillis) implements Writeable {
+
+        public QueueingStats {
+            nonNegative(taskCount);
+            nonNegative(totalQueuedMillis);
+            nonNegative(maxQueuedMillis);
+        }
+
+        public QueueingStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(taskCount);
+            out.writeVLong(totalQueuedMillis);
+            out.writeVLong(maxQueuedMillis);
+        }
+    }
 }
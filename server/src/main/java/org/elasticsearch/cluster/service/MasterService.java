@@ -46,7 +46,9 @@ import org.elasticsearch.threadpool.Scheduler;
 import org.elasticsearch.threadpool.ThreadPool;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -72,6 +74,18 @@ public class MasterService extends AbstractLifecycleComponent {
         Setting.Property.NodeScope
     );
 
+    /**
+     * The maximum number of tasks for the same executor that are executed together. Tasks beyond this limit are executed in a later batch,
+     * after the tasks for other executors which were submitted before them, so that one busy executor cannot hold up the others.
+     */
+    public static final Setting<Integer> MASTER_SERVICE_MAX_BATCH_SIZE_SETTING = Setting.intSetting(
+        "cluster.service.max_master_task_batch_size",
+        1000,
+        1,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     static final String MASTER_UPDATE_THREAD_NAME = "masterService#updateTask";
 
     ClusterStatePublisher clusterStatePublisher;
@@ -82,6 +96,7 @@ public class MasterService extends AbstractLifecycleComponent {
 
     private volatile TimeValue slowTaskLoggingThreshold;
     private final TimeValue starvationLoggingThreshold;
+    private int maxBatchSize;
 
     protected final ThreadPool threadPool;
 
@@ -98,6 +113,9 @@ public class MasterService extends AbstractLifecycleComponent {
 
         this.starvationLoggingThreshold = MASTER_SERVICE_STARVATION_LOGGING_THRESHOLD_SETTING.get(settings);
 
+        this.maxBatchSize = MASTER_SERVICE_MAX_BATCH_SIZE_SETTING.get(settings);
+        clusterSettings.addSettingsUpdateConsumer(MASTER_SERVICE_MAX_BATCH_SIZE_SETTING, this::setMaxBatchSize);
+
         this.threadPool = threadPool;
     }
 
@@ -105,6 +123,13 @@ public class MasterService extends AbstractLifecycleComponent {
         this.slowTaskLoggingThreshold = slowTaskLoggingThreshold;
     }
 
+    private synchronized void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+        if (taskBatcher != null) {
+            taskBatcher.setMaxBatchSize(maxBatchSize);
+        }
+    }
+
     public synchronized void setClusterStatePublisher(ClusterStatePublisher publisher) {
         clusterStatePublisher = publisher;
     }
@@ -119,6 +144,7 @@ public class MasterService extends AbstractLifecycleComponent {
         Objects.requireNonNull(clusterStateSupplier, "please set a cluster state supplier before starting");
         threadPoolExecutor = createThreadPoolExecutor();
         taskBatcher = new Batcher(logger, threadPoolExecutor);
+        taskBatcher.setMaxBatchSize(maxBatchSize);
     }
 
     protected PrioritizedEsThreadPoolExecutor createThreadPoolExecutor() {
@@ -228,6 +254,10 @@ public class MasterService extends AbstractLifecycleComponent {
         List<Batcher.UpdateTask> updateTasks,
         BatchSummary summary
     ) {
+        for (final var updateTask : updateTasks) {
+            clusterStateUpdateStatsTracker.onTaskDequeued(updateTask.priority(), updateTask.getAgeInMillis());
+        }
+
         if (lifecycle.started() == false) {
             logger.debug("processing [{}]: ignoring, master service not started", summary);
             return;
@@ -1033,6 +1063,17 @@ public class MasterService extends AbstractLifecycleComponent {
         private long failedMasterApplyElapsedMillis;
         private long failedNotificationElapsedMillis;
 
+        private final long[] queuedTaskCounts = new long[Priority.values().length];
+        private final long[] totalQueuedMillis = new long[Priority.values().length];
+        private final long[] maxQueuedMillis = new long[Priority.values().length];
+
+        synchronized void onTaskDequeued(Priority priority, long queuedMillis) {
+            final int ordinal = priority.ordinal();
+            queuedTaskCounts[ordinal] += 1;
+            totalQueuedMillis[ordinal] += queuedMillis;
+            maxQueuedMillis[ordinal] = Math.max(maxQueuedMillis[ordinal], queuedMillis);
+        }
+
         synchronized void onUnchangedClusterState(long computationElapsedMillis, long notificationElapsedMillis) {
             unchangedTaskCount += 1;
             unchangedComputationElapsedMillis += computationElapsedMillis;
@@ -1070,6 +1111,20 @@ public class MasterService extends AbstractLifecycleComponent {
         }
 
         synchronized ClusterStateUpdateStats getStatistics() {
+            final Map<Priority, ClusterStateUpdateStats.QueueingStats> queueingStats = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                final int ordinal = priority.ordinal();
+                if (queuedTaskCounts[ordinal] > 0) {
+                    queueingStats.put(
+                        priority,
+                        new ClusterStateUpdateStats.QueueingStats(
+                            queuedTaskCounts[ordinal],
+                            totalQueuedMillis[ordinal],
+                            maxQueuedMillis[ordinal]
+                        )
+                    );
+                }
+            }
             return new ClusterStateUpdateStats(
                 unchangedTaskCount,
                 publicationSuccessCount,
@@ -1089,7 +1144,8 @@ public class MasterService extends AbstractLifecycleComponent {
                 failedCommitElapsedMillis,
                 failedCompletionElapsedMillis,
                 failedMasterApplyElapsedMillis,
-                failedNotificationElapsedMillis
+                failedNotificationElapsedMillis,
+                queueingStats
             );
         }
     }
@@ -17,6 +17,7 @@ import org.elasticsearch.core.TimeValue;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,7 +27,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Batching support for {@link PrioritizedEsThreadPoolExecutor}
- * Tasks that share the same batching key are batched (see {@link BatchedTask#batchingKey})
+ * Tasks that share the same batching key are batched (see {@link BatchedTask#batchingKey}). A batch contains at most
+ * {@link #setMaxBatchSize} tasks. Any remaining tasks stay queued behind the tasks with other batching keys that were submitted before
+ * them, so a flood of tasks with one batching key cannot starve the other keys at the same priority.
  */
 public abstract class TaskBatcher {
 
@@ -34,12 +37,18 @@ public abstract class TaskBatcher {
     private final PrioritizedEsThreadPoolExecutor threadExecutor;
     // package visible for tests
     final Map<Object, Set<BatchedTask>> tasksPerBatchingKey = new ConcurrentHashMap<>();
+    private volatile int maxBatchSize = Integer.MAX_VALUE;
 
     public TaskBatcher(Logger logger, PrioritizedEsThreadPoolExecutor threadExecutor) {
         this.logger = logger;
         this.threadExecutor = threadExecutor;
     }
 
+    public void setMaxBatchSize(int maxBatchSize) {
+        assert maxBatchSize > 0 : maxBatchSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
     public void submitTask(BatchedTask task, @Nullable TimeValue timeout) throws EsRejectedExecutionException {
         tasksPerBatchingKey.compute(task.batchingKey, (k, existingTasks) -> {
             if (existingTasks == null) {
@@ -90,12 +99,25 @@ public abstract class TaskBatcher {
         // to give other tasks with different batching key a chance to execute.
         if (updateTask.processed.get() == false) {
             final List<BatchedTask> toExecute = new ArrayList<>();
-            final Set<BatchedTask> pending = tasksPerBatchingKey.remove(updateTask.batchingKey);
-            if (pending != null) {
+            final int maxBatchSize = this.maxBatchSize;
+            tasksPerBatchingKey.computeIfPresent(updateTask.batchingKey, (key, pending) -> {
                 // pending is a java.util.Collections.SynchronizedSet so we can safely iterate holding its mutex
                 // noinspection SynchronizationOnLocalVariableOrMethodParameter
                 synchronized (pending) {
-                    for (BatchedTask task : pending) {
+                    // the batch keeps the submission order, and always includes the task being run since nothing else would run it
+                    boolean foundUpdateTask = false;
+                    final Iterator<BatchedTask> iterator = pending.iterator();
+                    while (iterator.hasNext()) {
+                        final BatchedTask task = iterator.next();
+                        if (task == updateTask) {
+                            foundUpdateTask = true;
+                        } else if (toExecute.size() + (foundUpdateTask ? 0 : 1) >= maxBatchSize) {
+                            if (foundUpdateTask) {
+                                break;
+                            }
+                            continue;
+                        }
+                        iterator.remove();
                         if (task.processed.getAndSet(true) == false) {
                             logger.trace("will process {}", task);
                             toExecute.add(task);
@@ -103,8 +125,14 @@ public abstract class TaskBatcher {
                             logger.trace("skipping {}, already processed", task);
                         }
                     }
+                    if (pending.isEmpty() == false) {
+                        // the remaining tasks are still in the executor's queue and will form a later batch
+                        logger.trace("batch for [{}] is full, leaving [{}] tasks queued", key, pending.size());
+                        return pending;
+                    }
                 }
-            }
+                return null;
+            });
 
             if (toExecute.isEmpty() == false) {
                 run(updateTask.batchingKey, toExecute, new BatchSummary(updateTask, toExecute));
@@ -138,6 +138,8 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         IndexSettings.INDEX_SEARCH_IDLE_AFTER,
         IndexSettings.INDEX_SEARCH_THROTTLED,
         IndexFieldDataService.INDEX_FIELDDATA_CACHE_KEY,
+        IndexFieldDataService.INDEX_RUNTIME_FIELDS_CACHE_SETTING,
+        IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING,
         FieldMapper.IGNORE_MALFORMED_SETTING,
         FieldMapper.COERCE_SETTING,
         Store.INDEX_STORE_STATS_REFRESH_INTERVAL_SETTING,
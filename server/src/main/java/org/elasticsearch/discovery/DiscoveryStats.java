@@ -9,6 +9,7 @@
 package org.elasticsearch.discovery;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.cluster.coordination.ClusterStatePersistenceStats;
 import org.elasticsearch.cluster.coordination.PendingClusterStateStats;
 import org.elasticsearch.cluster.coordination.PublishClusterStateStats;
 import org.elasticsearch.cluster.service.ClusterApplierRecordingService;
@@ -27,17 +28,20 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
     private final PublishClusterStateStats publishStats;
     private final ClusterStateUpdateStats clusterStateUpdateStats;
     private final ClusterApplierRecordingService.Stats applierRecordingStats;
+    private final ClusterStatePersistenceStats persistenceStats;
 
     public DiscoveryStats(
         PendingClusterStateStats queueStats,
         PublishClusterStateStats publishStats,
         ClusterStateUpdateStats clusterStateUpdateStats,
-        ClusterApplierRecordingService.Stats applierRecordingStats
+        ClusterApplierRecordingService.Stats applierRecordingStats,
+        ClusterStatePersistenceStats persistenceStats
     ) {
         this.queueStats = queueStats;
         this.publishStats = publishStats;
         this.clusterStateUpdateStats = clusterStateUpdateStats;
         this.applierRecordingStats = applierRecordingStats;
+        this.persistenceStats = persistenceStats;
     }
 
     public DiscoveryStats(StreamInput in) throws IOException {
@@ -53,6 +57,11 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
         } else {
             applierRecordingStats = null;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_4_0)) {
+            persistenceStats = in.readOptionalWriteable(ClusterStatePersistenceStats::new);
+        } else {
+            persistenceStats = null;
+        }
     }
 
     @Override
@@ -65,6 +74,9 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
         if (out.getVersion().onOrAfter(Version.V_7_16_0)) {
             out.writeOptionalWriteable(applierRecordingStats);
         }
+        if (out.getVersion().onOrAfter(Version.V_8_4_0)) {
+            out.writeOptionalWriteable(persistenceStats);
+        }
     }
 
     @Override
@@ -82,6 +94,9 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
         if (applierRecordingStats != null) {
             applierRecordingStats.toXContent(builder, params);
         }
+        if (persistenceStats != null) {
+            persistenceStats.toXContent(builder, params);
+        }
         builder.endObject();
         return builder;
     }
@@ -105,4 +120,8 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
     public ClusterApplierRecordingService.Stats getApplierRecordingStats() {
         return applierRecordingStats;
     }
+
+    public ClusterStatePersistenceStats getPersistenceStats() {
+        return persistenceStats;
+    }
 }
@@ -17,6 +17,7 @@ import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.coordination.ClusterStatePersistenceStats;
 import org.elasticsearch.cluster.coordination.CoordinationMetadata;
 import org.elasticsearch.cluster.coordination.CoordinationState.PersistedState;
 import org.elasticsearch.cluster.coordination.InMemoryPersistedState;
@@ -400,6 +401,11 @@ public class GatewayMetaState implements Closeable {
                 .build();
         }
 
+        @Override
+        public ClusterStatePersistenceStats getStats() {
+            return persistedState.getStats();
+        }
+
         @Override
         public void close() throws IOException {
             try {
@@ -537,6 +543,11 @@ public class GatewayMetaState implements Closeable {
             }
         }
 
+        @Override
+        public ClusterStatePersistenceStats getStats() {
+            return persistedClusterStateService.getStats();
+        }
+
         @Override
         public void close() throws IOException {
             IOUtils.close(persistenceWriter.getAndSet(null));
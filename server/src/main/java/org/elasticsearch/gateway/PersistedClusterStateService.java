@@ -42,6 +42,7 @@ import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.Assertions;
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.coordination.ClusterStatePersistenceStats;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.CheckedBiConsumer;
@@ -92,6 +93,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntPredicate;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -168,6 +170,8 @@ public class PersistedClusterStateService {
     private final LongSupplier relativeTimeMillisSupplier;
     private final ByteSizeValue documentPageSize;
 
+    private final StatsTracker statsTracker = new StatsTracker();
+
     private volatile TimeValue slowWriteLoggingThreshold;
 
     public PersistedClusterStateService(
@@ -204,6 +208,13 @@ public class PersistedClusterStateService {
         return nodeId;
     }
 
+    /**
+     * Stats about the cluster states written by all writers created by this service.
+     */
+    public ClusterStatePersistenceStats getStats() {
+        return statsTracker.getStats();
+    }
+
     /**
      * Creates a new disk-based writer for cluster states
      */
@@ -232,6 +243,7 @@ public class PersistedClusterStateService {
             documentPageSize,
             relativeTimeMillisSupplier,
             () -> slowWriteLoggingThreshold,
+            statsTracker,
             getAssertOnCommit()
         );
     }
@@ -768,6 +780,7 @@ public class PersistedClusterStateService {
         private final String nodeId;
         private final LongSupplier relativeTimeMillisSupplier;
         private final Supplier<TimeValue> slowWriteLoggingThresholdSupplier;
+        private final StatsTracker statsTracker;
 
         boolean fullStateWritten = false;
         private final AtomicBoolean closed = new AtomicBoolean();
@@ -781,6 +794,7 @@ public class PersistedClusterStateService {
             ByteSizeValue documentPageSize,
             LongSupplier relativeTimeMillisSupplier,
             Supplier<TimeValue> slowWriteLoggingThresholdSupplier,
+            StatsTracker statsTracker,
             @Nullable // if assertions disabled or we explicitly don't want to assert on commit in a test
             CheckedBiConsumer<Path, DirectoryReader, IOException> assertOnCommit
         ) {
@@ -788,6 +802,7 @@ public class PersistedClusterStateService {
             this.nodeId = nodeId;
             this.relativeTimeMillisSupplier = relativeTimeMillisSupplier;
             this.slowWriteLoggingThresholdSupplier = slowWriteLoggingThresholdSupplier;
+            this.statsTracker = statsTracker;
             this.documentBuffer = new byte[ByteSizeUnit.BYTES.toIntBytes(documentPageSize.getBytes())];
             this.assertOnCommit = assertOnCommit;
         }
@@ -830,6 +845,7 @@ public class PersistedClusterStateService {
                 commit(currentTerm, clusterState.version(), clusterState.metadata().oldestIndexVersion());
                 fullStateWritten = true;
                 final long durationMillis = relativeTimeMillisSupplier.getAsLong() - startTimeMillis;
+                statsTracker.fullWriteCompleted(durationMillis);
                 final TimeValue finalSlowWriteLoggingThreshold = slowWriteLoggingThresholdSupplier.get();
                 if (durationMillis >= finalSlowWriteLoggingThreshold.getMillis()) {
                     logger.warn(
@@ -864,6 +880,7 @@ public class PersistedClusterStateService {
                 final WriterStats stats = updateMetadata(previousClusterState.metadata(), clusterState.metadata());
                 commit(currentTerm, clusterState.version(), clusterState.metadata().oldestIndexVersion());
                 final long durationMillis = relativeTimeMillisSupplier.getAsLong() - startTimeMillis;
+                statsTracker.incrementalWriteCompleted(durationMillis);
                 final TimeValue finalSlowWriteLoggingThreshold = slowWriteLoggingThresholdSupplier.get();
                 if (durationMillis >= finalSlowWriteLoggingThreshold.getMillis()) {
                     logger.warn(
@@ -1044,8 +1061,10 @@ public class PersistedClusterStateService {
 
         void commit(long currentTerm, long lastAcceptedVersion, Version oldestIndexVersion) throws IOException {
             ensureOpen();
+            final long startTimeMillis = relativeTimeMillisSupplier.getAsLong();
             prepareCommit(currentTerm, lastAcceptedVersion, oldestIndexVersion);
             completeCommit();
+            statsTracker.commitCompleted(relativeTimeMillisSupplier.getAsLong() - startTimeMillis);
             assert assertOnCommit();
         }
 
@@ -1156,6 +1175,44 @@ public class PersistedClusterStateService {
         }
     }
 
+    /**
+     * Accumulates the {@link ClusterStatePersistenceStats} across all the writers created by this service.
+     */
+    private static class StatsTracker {
+        private final LongAdder fullWriteCount = new LongAdder();
+        private final LongAdder fullWriteTimeMillis = new LongAdder();
+        private final LongAdder incrementalWriteCount = new LongAdder();
+        private final LongAdder incrementalWriteTimeMillis = new LongAdder();
+        private final LongAdder commitCount = new LongAdder();
+        private final LongAdder commitTimeMillis = new LongAdder();
+
+        void fullWriteCompleted(long durationMillis) {
+            fullWriteCount.increment();
+            fullWriteTimeMillis.add(durationMillis);
+        }
+
+        void incrementalWriteCompleted(long durationMillis) {
+            incrementalWriteCount.increment();
+            incrementalWriteTimeMillis.add(durationMillis);
+        }
+
+        void commitCompleted(long durationMillis) {
+            commitCount.increment();
+            commitTimeMillis.add(durationMillis);
+        }
+
+        ClusterStatePersistenceStats getStats() {
+            return new ClusterStatePersistenceStats(
+                fullWriteCount.sum(),
+                fullWriteTimeMillis.sum(),
+                incrementalWriteCount.sum(),
+                incrementalWriteTimeMillis.sum(),
+                commitCount.sum(),
+                commitTimeMillis.sum()
+            );
+        }
+    }
+
     private interface PageWriter {
         void consumePage(BytesRef bytesRef, int pageIndex, boolean isLastPage) throws IOException;
     }
@@ -94,23 +94,31 @@ public class DefaultRestChannel extends AbstractRestChannel implements RestChann
         String opaque = null;
         String contentLength = null;
         try {
-            final BytesReference content = restResponse.content();
-            if (content instanceof Releasable) {
-                toClose.add((Releasable) content);
-            }
             toClose.add(this::releaseOutputBuffer);
 
-            BytesReference finalContent = content;
+            boolean isHeadRequest = false;
             try {
-                if (request.method() == RestRequest.Method.HEAD) {
-                    finalContent = BytesArray.EMPTY;
-                }
+                isHeadRequest = request.method() == RestRequest.Method.HEAD;
             } catch (IllegalArgumentException ignored) {
                 assert restResponse.status() == RestStatus.METHOD_NOT_ALLOWED
                     : "request HTTP method is unsupported but HTTP status is not METHOD_NOT_ALLOWED(405)";
             }
 
-            final HttpResponse httpResponse = httpRequest.createResponse(restResponse.status(), finalContent);
+            // HTTP/1.0 does not support chunked transfer encoding, so we serialize chunked bodies in full for such clients
+            final boolean sendChunked = restResponse.isChunked()
+                && isHeadRequest == false
+                && httpRequest.protocolVersion() != HttpRequest.HttpVersion.HTTP_1_0;
+
+            final HttpResponse httpResponse;
+            if (sendChunked) {
+                httpResponse = httpRequest.createResponse(restResponse.status(), restResponse.chunkedContent());
+            } else {
+                final BytesReference content = restResponse.content();
+                if (content instanceof Releasable) {
+                    toClose.add((Releasable) content);
+                }
+                httpResponse = httpRequest.createResponse(restResponse.status(), isHeadRequest ? BytesArray.EMPTY : content);
+            }
 
             corsHandler.setCorsResponseHeaders(httpRequest, httpResponse);
 
@@ -125,9 +133,11 @@ public class DefaultRestChannel extends AbstractRestChannel implements RestChann
 
             // If our response doesn't specify a content-type header, set one
             setHeaderField(httpResponse, CONTENT_TYPE, restResponse.contentType(), false);
-            // If our response has no content-length, calculate and set one
-            contentLength = String.valueOf(restResponse.content().length());
-            setHeaderField(httpResponse, CONTENT_LENGTH, contentLength, false);
+            if (sendChunked == false) {
+                // If our response has no content-length, calculate and set one
+                contentLength = String.valueOf(restResponse.content().length());
+                setHeaderField(httpResponse, CONTENT_LENGTH, contentLength, false);
+            }
 
             addCookies(httpResponse);
 
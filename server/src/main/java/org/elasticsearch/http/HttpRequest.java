@@ -10,6 +10,7 @@ package org.elasticsearch.http;
 
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestStatus;
 
@@ -66,6 +67,11 @@ public interface HttpRequest {
      */
     HttpResponse createResponse(RestStatus status, BytesReference content);
 
+    /**
+     * Create an http response from this request and the supplied status and a body which is sent in chunks as it is serialized.
+     */
+    HttpResponse createResponse(RestStatus status, ChunkedRestResponseBody content);
+
     @Nullable
     Exception getInboundException();
 
@@ -48,8 +48,10 @@ import org.elasticsearch.index.engine.EngineFactory;
 import org.elasticsearch.index.fielddata.IndexFieldDataCache;
 import org.elasticsearch.index.fielddata.IndexFieldDataService;
 import org.elasticsearch.index.mapper.IdFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.MapperRegistry;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.index.query.SearchIndexNameMatcher;
 import org.elasticsearch.index.seqno.RetentionLeaseSyncer;
@@ -72,6 +74,7 @@ import org.elasticsearch.indices.recovery.RecoveryState;
 import org.elasticsearch.plugins.IndexStorePlugin;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.search.aggregations.support.ValuesSourceRegistry;
+import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.XContentParserConfiguration;
 
@@ -212,6 +215,13 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
                 this.indexSortSupplier = () -> null;
             }
             indexFieldData.setListener(new FieldDataCacheListener(this));
+            // the warmer reads the fields to materialize on every refresh, updates only need to be checked against the mappings
+            indexSettings.getScopedSettings()
+                .addSettingsUpdateConsumer(
+                    IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING,
+                    fields -> {},
+                    this::validateMaterializedRuntimeFields
+                );
             this.bitsetFilterCache = new BitsetFilterCache(indexSettings, new BitsetCacheListener(this));
             this.warmer = new IndexWarmer(threadPool, indexFieldData, bitsetFilterCache.createListener(threadPool));
             this.indexCache = new IndexCache(indexSettings, queryCache, bitsetFilterCache);
@@ -619,14 +629,22 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
             clusterService,
             expressionResolver
         );
+        final MappingLookup mappingLookup = mapperService().mappingLookup();
         return new SearchExecutionContext(
             shardId,
             shardRequestIndex,
             indexSettings,
             indexCache.bitsetFilterCache(),
-            indexFieldData::getForField,
+            runtimeMappings.isEmpty()
+                ? (fieldType, index, searchLookup) -> indexFieldData.getForField(
+                    fieldType,
+                    index,
+                    searchLookup,
+                    runtimeFieldsCacheMapping(mappingLookup, fieldType)
+                )
+                : indexFieldData::getForField,
             mapperService(),
-            mapperService().mappingLookup(),
+            mappingLookup,
             similarityService(),
             scriptService,
             parserConfiguration,
@@ -642,6 +660,43 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
         );
     }
 
+    /**
+     * Checks that all the given fields are runtime fields of the current mappings whose values can be cached, so that they can be
+     * listed in {@link IndexFieldDataService#INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING}.
+     */
+    public void validateMaterializedRuntimeFields(List<String> fields) {
+        final MappingLookup mappingLookup = mapperService.mappingLookup();
+        final SearchLookup searchLookup = new SearchLookup(mappingLookup::getFieldType, (fieldType, lookup) -> {
+            throw new UnsupportedOperationException("search lookup not available when validating settings");
+        });
+        for (String field : fields) {
+            final MappedFieldType fieldType = mappingLookup.getFieldType(field);
+            if (fieldType == null
+                || IndexFieldDataService.isCacheableRuntimeField(fieldType, index().getName(), () -> searchLookup) == false) {
+                throw new IllegalArgumentException(
+                    "["
+                        + IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING.getKey()
+                        + "] can only list runtime fields with a deterministic script but ["
+                        + field
+                        + "] is not one"
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns the mappings under which the values of the given runtime field may be cached, or {@code null} if the field does not
+     * come from the current mappings of the index. Callers must make sure that the search request defines no runtime fields that
+     * could shadow the fields that the field's script reads.
+     */
+    @Nullable
+    private MappingLookup.CacheKey runtimeFieldsCacheMapping(MappingLookup mappingLookup, MappedFieldType fieldType) {
+        if (mappingLookup != mapperService.mappingLookup() || mappingLookup.getFieldType(fieldType.name()) != fieldType) {
+            return null;
+        }
+        return mappingLookup.cacheKey();
+    }
+
     /**
      * The {@link ThreadPool} to use for this index.
      */
@@ -10,21 +10,29 @@ package org.elasticsearch.index;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.index.LeafReaderContext;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.fielddata.IndexFieldData;
 import org.elasticsearch.index.fielddata.IndexFieldDataService;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.IndexShardState;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -97,6 +105,7 @@ public final class IndexWarmer {
 
         private final Executor executor;
         private final IndexFieldDataService indexFieldDataService;
+        private final Set<RunningMaterialization> runningMaterializations = ConcurrentCollections.newConcurrentSet();
 
         FieldDataWarmer(Executor executor, IndexFieldDataService indexFieldDataService) {
             this.executor = executor;
@@ -144,8 +153,81 @@ public final class IndexWarmer {
                     }
                 });
             }
+            materializeRuntimeFields(indexShard, reader);
             return () -> latch.await();
         }
+
+        /**
+         * Computes the values of the runtime fields listed in {@link IndexFieldDataService#INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING}
+         * for the segments of the given reader that aren't in the field data cache yet. This runs in the background: it does not hold
+         * up the refresh, which would otherwise have to wait for the scripts to run over every document of the new segments. A field
+         * that is still being materialized for an earlier reader of the same shard is skipped, searches compute the values it misses.
+         */
+        private void materializeRuntimeFields(IndexShard indexShard, ElasticsearchDirectoryReader reader) {
+            final MappingLookup mappingLookup = indexShard.mapperService().mappingLookup();
+            final String indexName = indexFieldDataService.index().getName();
+            for (String field : indexShard.indexSettings().getValue(IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING)) {
+                // search lookups aren't thread safe so each field gets its own
+                final SearchLookup searchLookup = new SearchLookup(
+                    mappingLookup::getFieldType,
+                    (ft, lookup) -> indexFieldDataService.getForField(ft, indexName, lookup, mappingLookup.cacheKey())
+                );
+                final MappedFieldType fieldType = mappingLookup.getFieldType(field);
+                if (fieldType == null || IndexFieldDataService.isCacheableRuntimeField(fieldType, indexName, () -> searchLookup) == false) {
+                    // the setting is validated against the mappings but the field may have been removed or redefined since
+                    logger.trace("{} skipping materialization of [{}] which is not a cacheable runtime field", indexShard.shardId(), field);
+                    continue;
+                }
+                final RunningMaterialization materialization = new RunningMaterialization(indexShard.shardId(), field);
+                if (runningMaterializations.add(materialization) == false) {
+                    continue;
+                }
+                reader.incRef();
+                executor.execute(new AbstractRunnable() {
+                    @Override
+                    protected void doRun() {
+                        final long start = System.nanoTime();
+                        IndexFieldData<?> ifd = indexFieldDataService.getForField(
+                            fieldType,
+                            indexName,
+                            () -> searchLookup,
+                            mappingLookup.cacheKey()
+                        );
+                        // segments that were already materialized are served from the cache
+                        for (LeafReaderContext context : reader.leaves()) {
+                            ifd.load(context);
+                        }
+
+                        if (indexShard.warmerService().logger().isTraceEnabled()) {
+                            indexShard.warmerService()
+                                .logger()
+                                .trace(
+                                    "materialized runtime field [{}], took [{}]",
+                                    fieldType.name(),
+                                    TimeValue.timeValueNanos(System.nanoTime() - start)
+                                );
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        indexShard.warmerService().logger().warn(() -> "failed to materialize runtime field [" + field + "]", e);
+                    }
+
+                    @Override
+                    public void onAfter() {
+                        runningMaterializations.remove(materialization);
+                        try {
+                            reader.decRef();
+                        } catch (IOException e) {
+                            logger.debug("failed to release reader after materializing runtime fields", e);
+                        }
+                    }
+                });
+            }
+        }
+
+        private record RunningMaterialization(ShardId shardId, String field) {}
     }
 
 }
@@ -245,6 +245,21 @@ public interface IndexFieldData<FD extends LeafFieldData> {
         IndexFieldData<?> build(IndexFieldDataCache cache, CircuitBreakerService breakerService);
     }
 
+    /**
+     * A {@link Builder} for field data computed by a runtime field script. It is given a
+     * {@code null} cache unless caching of runtime field values is enabled on the index,
+     * in which case the script is run once per segment and its values kept in the cache.
+     */
+    interface ScriptBuilder extends Builder {
+
+        /**
+         * Identifies the values computed by the script, or {@code null} if they can't be cached,
+         * for instance because the script isn't deterministic.
+         */
+        @Nullable
+        Object resultsCacheKey();
+    }
+
     interface Global<FD extends LeafFieldData> extends IndexFieldData<FD> {
 
         IndexFieldData<FD> loadGlobal(DirectoryReader indexReader);
@@ -12,9 +12,11 @@ import org.apache.lucene.util.Accountable;
 import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.AbstractIndexComponent;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.fielddata.cache.IndicesFieldDataCache;
@@ -25,6 +27,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -44,11 +47,37 @@ public class IndexFieldDataService extends AbstractIndexComponent implements Clo
         Property.IndexScope
     );
 
+    /**
+     * Whether the values computed by runtime field scripts are cached per segment in the field data cache. The values are
+     * materialized for the whole segment the first time the field data is loaded and accounted for in the field data breaker.
+     */
+    public static final Setting<Boolean> INDEX_RUNTIME_FIELDS_CACHE_SETTING = Setting.boolSetting(
+        "index.runtime_fields.cache",
+        false,
+        Property.IndexScope,
+        Property.Dynamic
+    );
+
+    /**
+     * Runtime fields whose values are computed in the background for every new segment when the shard is refreshed, so that
+     * searches find them in the field data cache rather than running the script. Implies caching for these fields, which must
+     * be runtime fields that {@link #isCacheableRuntimeField can be cached}.
+     */
+    public static final Setting<List<String>> INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING = Setting.stringListSetting(
+        "index.runtime_fields.materialize",
+        Property.IndexScope,
+        Property.Dynamic
+    );
+
     private final CircuitBreakerService circuitBreakerService;
 
     private final IndicesFieldDataCache indicesFieldDataCache;
     // the below map needs to be modified under a lock
     private final Map<String, IndexFieldDataCache> fieldDataCaches = new HashMap<>();
+    // runtime fields are only cached for the mappings identified by runtimeFieldDataCachesMapping, the caches are dropped
+    // as soon as runtime field data is requested for newer mappings, this map also needs to be modified under a lock
+    private final Map<RuntimeFieldCacheKey, IndexFieldDataCache> runtimeFieldDataCaches = new HashMap<>();
+    private MappingLookup.CacheKey runtimeFieldDataCachesMapping;
     private static final IndexFieldDataCache.Listener DEFAULT_NOOP_LISTENER = new IndexFieldDataCache.Listener() {
         @Override
         public void onCache(ShardId shardId, String fieldName, Accountable ramUsage) {}
@@ -79,6 +108,15 @@ public class IndexFieldDataService extends AbstractIndexComponent implements Clo
             }
         }
         fieldDataCacheValues.clear();
+        for (IndexFieldDataCache cache : runtimeFieldDataCaches.values()) {
+            try {
+                cache.clear();
+            } catch (Exception e) {
+                exceptions.add(e);
+            }
+        }
+        runtimeFieldDataCaches.clear();
+        runtimeFieldDataCachesMapping = null;
         ExceptionsHelper.maybeThrowRuntimeAndSuppress(exceptions);
     }
 
@@ -92,6 +130,18 @@ public class IndexFieldDataService extends AbstractIndexComponent implements Clo
                 exceptions.add(e);
             }
         }
+        final Iterator<Map.Entry<RuntimeFieldCacheKey, IndexFieldDataCache>> runtimeCaches = runtimeFieldDataCaches.entrySet().iterator();
+        while (runtimeCaches.hasNext()) {
+            Map.Entry<RuntimeFieldCacheKey, IndexFieldDataCache> entry = runtimeCaches.next();
+            if (entry.getKey().fieldName().equals(fieldName)) {
+                runtimeCaches.remove();
+                try {
+                    entry.getValue().clear(fieldName);
+                } catch (Exception e) {
+                    exceptions.add(e);
+                }
+            }
+        }
         ExceptionsHelper.maybeThrowRuntimeAndSuppress(exceptions);
     }
 
@@ -99,14 +149,31 @@ public class IndexFieldDataService extends AbstractIndexComponent implements Clo
      * Returns fielddata for the provided field type, given the provided fully qualified index name, while also making
      * a {@link SearchLookup} supplier available that is required for runtime fields.
      */
-    @SuppressWarnings("unchecked")
     public <IFD extends IndexFieldData<?>> IFD getForField(
         MappedFieldType fieldType,
         String fullyQualifiedIndexName,
         Supplier<SearchLookup> searchLookup
+    ) {
+        return getForField(fieldType, fullyQualifiedIndexName, searchLookup, null);
+    }
+
+    /**
+     * Returns fielddata for the provided field type like {@link #getForField(MappedFieldType, String, Supplier)}. The values of
+     * runtime fields may only be cached if {@code mapping} is set, in which case it must identify the current mappings of the
+     * index and both the field type and all the fields that the provided {@link SearchLookup} resolves must come from them.
+     */
+    @SuppressWarnings("unchecked")
+    public <IFD extends IndexFieldData<?>> IFD getForField(
+        MappedFieldType fieldType,
+        String fullyQualifiedIndexName,
+        Supplier<SearchLookup> searchLookup,
+        @Nullable MappingLookup.CacheKey mapping
     ) {
         final String fieldName = fieldType.name();
         IndexFieldData.Builder builder = fieldType.fielddataBuilder(fullyQualifiedIndexName, searchLookup);
+        if (builder instanceof IndexFieldData.ScriptBuilder scriptBuilder) {
+            return (IFD) builder.build(getRuntimeFieldCache(fieldName, scriptBuilder, mapping), circuitBreakerService);
+        }
 
         IndexFieldDataCache cache;
         synchronized (this) {
@@ -127,6 +194,78 @@ public class IndexFieldDataService extends AbstractIndexComponent implements Clo
         return (IFD) builder.build(cache, circuitBreakerService);
     }
 
+    /**
+     * Returns the cache for the values of a runtime field or {@code null} if they should be computed every time they are loaded.
+     */
+    @Nullable
+    private IndexFieldDataCache getRuntimeFieldCache(
+        String fieldName,
+        IndexFieldData.ScriptBuilder builder,
+        @Nullable MappingLookup.CacheKey mapping
+    ) {
+        if (mapping == null) {
+            // a runtime field that reads other fields may see different values if they are redefined in the search request
+            return null;
+        }
+        if (FIELDDATA_CACHE_VALUE_NODE.equals(indexSettings.getValue(INDEX_FIELDDATA_CACHE_KEY)) == false) {
+            return null;
+        }
+        if (indexSettings.getValue(INDEX_RUNTIME_FIELDS_CACHE_SETTING) == false
+            && indexSettings.getValue(INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING).contains(fieldName) == false) {
+            return null;
+        }
+        Object resultsCacheKey = builder.resultsCacheKey();
+        if (resultsCacheKey == null) {
+            return null;
+        }
+        RuntimeFieldCacheKey key = new RuntimeFieldCacheKey(fieldName, builder.getClass(), resultsCacheKey);
+        synchronized (this) {
+            if (mapping != runtimeFieldDataCachesMapping) {
+                // the script of this field or of a field it reads may have changed, values cached for older mappings are stale
+                clearRuntimeFieldCaches();
+                runtimeFieldDataCachesMapping = mapping;
+            }
+            return runtimeFieldDataCaches.computeIfAbsent(
+                key,
+                k -> indicesFieldDataCache.buildIndexFieldDataCache(listener, index(), fieldName)
+            );
+        }
+    }
+
+    /**
+     * Returns whether the values of the given field are computed by a runtime field script that can be cached per segment.
+     */
+    public static boolean isCacheableRuntimeField(
+        MappedFieldType fieldType,
+        String fullyQualifiedIndexName,
+        Supplier<SearchLookup> searchLookup
+    ) {
+        final IndexFieldData.Builder builder;
+        try {
+            builder = fieldType.fielddataBuilder(fullyQualifiedIndexName, searchLookup);
+        } catch (IllegalArgumentException e) {
+            // the field does not support field data at all
+            return false;
+        }
+        return builder instanceof IndexFieldData.ScriptBuilder scriptBuilder && scriptBuilder.resultsCacheKey() != null;
+    }
+
+    private void clearRuntimeFieldCaches() {
+        assert Thread.holdsLock(this);
+        List<Exception> exceptions = new ArrayList<>(0);
+        for (IndexFieldDataCache cache : runtimeFieldDataCaches.values()) {
+            try {
+                cache.clear();
+            } catch (Exception e) {
+                exceptions.add(e);
+            }
+        }
+        runtimeFieldDataCaches.clear();
+        ExceptionsHelper.maybeThrowRuntimeAndSuppress(exceptions);
+    }
+
+    private record RuntimeFieldCacheKey(String fieldName, Class<?> builderType, Object resultsCacheKey) {}
+
     /**
      * Sets a {@link org.elasticsearch.index.fielddata.IndexFieldDataCache.Listener} passed to each {@link IndexFieldData}
      * creation to capture onCache and onRemoval events. Setting a listener on this method will override any previously
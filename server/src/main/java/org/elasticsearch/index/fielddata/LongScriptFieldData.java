@@ -10,7 +10,11 @@ package org.elasticsearch.index.fielddata;
 
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.util.packed.PackedInts;
+import org.apache.lucene.util.packed.PackedLongValues;
 import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.fielddata.plain.LeafLongFieldData;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.script.LongFieldScript;
@@ -23,39 +27,62 @@ import java.io.IOException;
 
 public final class LongScriptFieldData extends IndexNumericFieldData {
 
-    public static class Builder implements IndexFieldData.Builder {
+    public static class Builder implements IndexFieldData.ScriptBuilder {
         private final String name;
         private final LongFieldScript.LeafFactory leafFactory;
         protected final ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory;
+        private final Object resultsCacheKey;
 
         public Builder(
             String name,
             LongFieldScript.LeafFactory leafFactory,
             ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory
+        ) {
+            this(name, leafFactory, toScriptFieldFactory, null);
+        }
+
+        public Builder(
+            String name,
+            LongFieldScript.LeafFactory leafFactory,
+            ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory,
+            @Nullable Object resultsCacheKey
         ) {
             this.name = name;
             this.leafFactory = leafFactory;
             this.toScriptFieldFactory = toScriptFieldFactory;
+            this.resultsCacheKey = resultsCacheKey;
+        }
+
+        @Override
+        public Object resultsCacheKey() {
+            return resultsCacheKey;
         }
 
         @Override
-        public LongScriptFieldData build(IndexFieldDataCache cache, CircuitBreakerService breakerService) {
-            return new LongScriptFieldData(name, leafFactory, toScriptFieldFactory);
+        public LongScriptFieldData build(@Nullable IndexFieldDataCache cache, CircuitBreakerService breakerService) {
+            return new LongScriptFieldData(name, leafFactory, toScriptFieldFactory, cache, breakerService);
         }
     }
 
     private final String fieldName;
     private final LongFieldScript.LeafFactory leafFactory;
     protected final ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory;
+    @Nullable
+    private final IndexFieldDataCache cache;
+    private final CircuitBreakerService breakerService;
 
     private LongScriptFieldData(
         String fieldName,
         LongFieldScript.LeafFactory leafFactory,
-        ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory
+        ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory,
+        @Nullable IndexFieldDataCache cache,
+        CircuitBreakerService breakerService
     ) {
         this.fieldName = fieldName;
         this.leafFactory = leafFactory;
         this.toScriptFieldFactory = toScriptFieldFactory;
+        this.cache = cache;
+        this.breakerService = breakerService;
     }
 
     @Override
@@ -69,8 +96,11 @@ public final class LongScriptFieldData extends IndexNumericFieldData {
     }
 
     @Override
-    public LongScriptLeafFieldData load(LeafReaderContext context) {
+    public LeafNumericFieldData load(LeafReaderContext context) {
         try {
+            if (cache != null) {
+                return cache.load(context, this);
+            }
             return loadDirect(context);
         } catch (Exception e) {
             throw ExceptionsHelper.convertToElastic(e);
@@ -78,8 +108,38 @@ public final class LongScriptFieldData extends IndexNumericFieldData {
     }
 
     @Override
-    public LongScriptLeafFieldData loadDirect(LeafReaderContext context) throws IOException {
-        return new LongScriptLeafFieldData(new LongScriptDocValues(leafFactory.newInstance(context)), toScriptFieldFactory);
+    public LeafNumericFieldData loadDirect(LeafReaderContext context) throws IOException {
+        LongScriptDocValues docValues = new LongScriptDocValues(leafFactory.newInstance(context));
+        if (cache == null) {
+            return new LongScriptLeafFieldData(docValues, toScriptFieldFactory);
+        }
+        return materialize(context.reader().maxDoc(), docValues);
+    }
+
+    /**
+     * Runs the script against every document in the segment and stores the results in a packed, columnar form
+     * that is kept in the field data cache for as long as the segment lives.
+     */
+    private CachedLongScriptLeafFieldData materialize(int maxDoc, LongScriptDocValues docValues) throws IOException {
+        PackedLongValues.Builder docStarts = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
+        PackedLongValues.Builder values = PackedLongValues.deltaPackedBuilder(PackedInts.COMPACT);
+        for (int doc = 0; doc < maxDoc; doc++) {
+            docStarts.add(values.size());
+            if (docValues.advanceExact(doc)) {
+                for (int i = 0, count = docValues.docValueCount(); i < count; i++) {
+                    values.add(docValues.nextValue());
+                }
+            }
+        }
+        docStarts.add(values.size());
+        CachedLongScriptLeafFieldData fieldData = new CachedLongScriptLeafFieldData(
+            docStarts.build(),
+            values.build(),
+            toScriptFieldFactory
+        );
+        // released by the field data cache listener when the entry is removed
+        breakerService.getBreaker(CircuitBreaker.FIELDDATA).addEstimateBytesAndMaybeBreak(fieldData.ramBytesUsed(), fieldName);
+        return fieldData;
     }
 
     @Override
@@ -115,4 +175,55 @@ public final class LongScriptFieldData extends IndexNumericFieldData {
             return toScriptFieldFactory.getScriptFieldFactory(getLongValues(), name);
         }
     }
+
+    /**
+     * Script results for a whole segment. Values are stored sorted per document, one after the other,
+     * and {@code docStarts} holds the offset of the first value of each document.
+     */
+    static class CachedLongScriptLeafFieldData extends LeafLongFieldData {
+        private final PackedLongValues docStarts;
+        private final PackedLongValues values;
+        private final ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory;
+
+        CachedLongScriptLeafFieldData(
+            PackedLongValues docStarts,
+            PackedLongValues values,
+            ToScriptFieldFactory<SortedNumericDocValues> toScriptFieldFactory
+        ) {
+            super(docStarts.ramBytesUsed() + values.ramBytesUsed());
+            this.docStarts = docStarts;
+            this.values = values;
+            this.toScriptFieldFactory = toScriptFieldFactory;
+        }
+
+        @Override
+        public SortedNumericDocValues getLongValues() {
+            return new AbstractSortedNumericDocValues() {
+                private long cursor;
+                private int count;
+
+                @Override
+                public boolean advanceExact(int target) {
+                    cursor = docStarts.get(target);
+                    count = (int) (docStarts.get(target + 1) - cursor);
+                    return count > 0;
+                }
+
+                @Override
+                public long nextValue() {
+                    return values.get(cursor++);
+                }
+
+                @Override
+                public int docValueCount() {
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public DocValuesScriptFieldFactory getScriptFieldFactory(String name) {
+            return toScriptFieldFactory.getScriptFieldFactory(getLongValues(), name);
+        }
+    }
 }
@@ -9,6 +9,14 @@
 package org.elasticsearch.index.fielddata;
 
 import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.packed.PackedInts;
+import org.apache.lucene.util.packed.PackedLongValues;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.ByteArray;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.script.StringFieldScript;
 import org.elasticsearch.script.field.DocValuesScriptFieldFactory;
@@ -16,44 +24,84 @@ import org.elasticsearch.script.field.ToScriptFieldFactory;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
 import org.elasticsearch.search.aggregations.support.ValuesSourceType;
 
+import java.io.IOException;
+
 public class StringScriptFieldData extends BinaryScriptFieldData {
-    public static class Builder implements IndexFieldData.Builder {
+    public static class Builder implements IndexFieldData.ScriptBuilder {
         private final String name;
         private final StringFieldScript.LeafFactory leafFactory;
         protected final ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory;
+        private final Object resultsCacheKey;
 
         public Builder(
             String name,
             StringFieldScript.LeafFactory leafFactory,
             ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory
+        ) {
+            this(name, leafFactory, toScriptFieldFactory, null);
+        }
+
+        public Builder(
+            String name,
+            StringFieldScript.LeafFactory leafFactory,
+            ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory,
+            @Nullable Object resultsCacheKey
         ) {
             this.name = name;
             this.leafFactory = leafFactory;
             this.toScriptFieldFactory = toScriptFieldFactory;
+            this.resultsCacheKey = resultsCacheKey;
+        }
+
+        @Override
+        public Object resultsCacheKey() {
+            return resultsCacheKey;
         }
 
         @Override
-        public StringScriptFieldData build(IndexFieldDataCache cache, CircuitBreakerService breakerService) {
-            return new StringScriptFieldData(name, leafFactory, toScriptFieldFactory);
+        public StringScriptFieldData build(@Nullable IndexFieldDataCache cache, CircuitBreakerService breakerService) {
+            return new StringScriptFieldData(name, leafFactory, toScriptFieldFactory, cache, breakerService);
         }
     }
 
     private final StringFieldScript.LeafFactory leafFactory;
     protected final ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory;
+    @Nullable
+    private final IndexFieldDataCache cache;
+    private final CircuitBreakerService breakerService;
 
     private StringScriptFieldData(
         String fieldName,
         StringFieldScript.LeafFactory leafFactory,
-        ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory
+        ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory,
+        @Nullable IndexFieldDataCache cache,
+        CircuitBreakerService breakerService
     ) {
         super(fieldName);
         this.leafFactory = leafFactory;
         this.toScriptFieldFactory = toScriptFieldFactory;
+        this.cache = cache;
+        this.breakerService = breakerService;
+    }
+
+    @Override
+    public BinaryScriptLeafFieldData load(LeafReaderContext context) {
+        if (cache == null) {
+            return super.load(context);
+        }
+        try {
+            return cache.load(context, this);
+        } catch (Exception e) {
+            throw ExceptionsHelper.convertToElastic(e);
+        }
     }
 
     @Override
     public BinaryScriptLeafFieldData loadDirect(LeafReaderContext context) throws Exception {
         StringFieldScript script = leafFactory.newInstance(context);
+        if (cache != null) {
+            return materialize(context.reader().maxDoc(), new StringScriptDocValues(script));
+        }
         return new BinaryScriptLeafFieldData() {
             @Override
             public DocValuesScriptFieldFactory getScriptFieldFactory(String name) {
@@ -67,8 +115,111 @@ public class StringScriptFieldData extends BinaryScriptFieldData {
         };
     }
 
+    /**
+     * Runs the script against every document in the segment and stores the results in a columnar form
+     * that is kept in the field data cache for as long as the segment lives.
+     */
+    private CachedStringScriptLeafFieldData materialize(int maxDoc, StringScriptDocValues docValues) throws IOException {
+        ByteArray bytes = BigArrays.NON_RECYCLING_INSTANCE.newByteArray(0, false);
+        long size = 0;
+        PackedLongValues.Builder docStarts = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
+        PackedLongValues.Builder valueStarts = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
+        for (int doc = 0; doc < maxDoc; doc++) {
+            docStarts.add(valueStarts.size());
+            if (docValues.advanceExact(doc)) {
+                for (int i = 0, count = docValues.docValueCount(); i < count; i++) {
+                    BytesRef value = docValues.nextValue();
+                    valueStarts.add(size);
+                    if (value.length > 0) {
+                        bytes = BigArrays.NON_RECYCLING_INSTANCE.grow(bytes, size + value.length);
+                        bytes.set(size, value.bytes, value.offset, value.length);
+                        size += value.length;
+                    }
+                }
+            }
+        }
+        docStarts.add(valueStarts.size());
+        valueStarts.add(size);
+        CachedStringScriptLeafFieldData fieldData = new CachedStringScriptLeafFieldData(
+            docStarts.build(),
+            valueStarts.build(),
+            bytes,
+            toScriptFieldFactory
+        );
+        // released by the field data cache listener when the entry is removed
+        breakerService.getBreaker(CircuitBreaker.FIELDDATA).addEstimateBytesAndMaybeBreak(fieldData.ramBytesUsed(), getFieldName());
+        return fieldData;
+    }
+
     @Override
     public ValuesSourceType getValuesSourceType() {
         return CoreValuesSourceType.KEYWORD;
     }
+
+    /**
+     * Script results for a whole segment. The bytes of the values are stored sorted per document, one after the
+     * other. {@code docStarts} holds the index of the first value of each document and {@code valueStarts} the
+     * offset of each value in {@code bytes}.
+     */
+    static class CachedStringScriptLeafFieldData extends BinaryScriptLeafFieldData {
+        private final PackedLongValues docStarts;
+        private final PackedLongValues valueStarts;
+        private final ByteArray bytes;
+        private final ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory;
+
+        CachedStringScriptLeafFieldData(
+            PackedLongValues docStarts,
+            PackedLongValues valueStarts,
+            ByteArray bytes,
+            ToScriptFieldFactory<SortedBinaryDocValues> toScriptFieldFactory
+        ) {
+            this.docStarts = docStarts;
+            this.valueStarts = valueStarts;
+            this.bytes = bytes;
+            this.toScriptFieldFactory = toScriptFieldFactory;
+        }
+
+        @Override
+        public long ramBytesUsed() {
+            return docStarts.ramBytesUsed() + valueStarts.ramBytesUsed() + bytes.ramBytesUsed();
+        }
+
+        @Override
+        public SortedBinaryDocValues getBytesValues() {
+            return new SortedBinaryDocValues() {
+                private final BytesRef scratch = new BytesRef();
+                private long cursor;
+                private int count;
+
+                @Override
+                public boolean advanceExact(int doc) {
+                    cursor = docStarts.get(doc);
+                    count = (int) (docStarts.get(doc + 1) - cursor);
+                    return count > 0;
+                }
+
+                @Override
+                public int docValueCount() {
+                    return count;
+                }
+
+                @Override
+                public BytesRef nextValue() {
+                    long start = valueStarts.get(cursor);
+                    int length = (int) (valueStarts.get(++cursor) - start);
+                    if (length == 0) {
+                        scratch.length = 0;
+                    } else {
+                        bytes.get(start, length, scratch);
+                    }
+                    return scratch;
+                }
+            };
+        }
+
+        @Override
+        public DocValuesScriptFieldFactory getScriptFieldFactory(String name) {
+            return toScriptFieldFactory.getScriptFieldFactory(getBytesValues(), name);
+        }
+    }
 }
@@ -176,6 +176,18 @@ abstract class AbstractScriptFieldType<LeafFactory> extends MappedFieldType {
         return new DocValueFetcher(docValueFormat(format, null), context.getForField(this));
     }
 
+    /**
+     * Identifies the values computed by this field so they can be cached per segment, or {@code null} if
+     * they can't be. Only fields with a deterministic script of their own are cached: fields loaded from
+     * {@code _source} and sub-fields of composite fields are computed every time.
+     */
+    protected final Script resultsCacheKey() {
+        if (isResultDeterministic == false || script == DEFAULT_SCRIPT) {
+            return null;
+        }
+        return script;
+    }
+
     /**
      * Create a script leaf factory.
      */
@@ -15,7 +15,9 @@ import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.FilteredTermsEnum;
 import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
@@ -25,6 +27,7 @@ import org.apache.lucene.index.MultiTerms;
 import org.apache.lucene.index.ReaderSlice;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.StoredFieldVisitor;
 import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.sandbox.search.DocValuesTermsQuery;
@@ -90,6 +93,8 @@ public final class KeywordFieldMapper extends FieldMapper {
 
     public static final String CONTENT_TYPE = "keyword";
 
+    private static final String ORIGINAL_SUFFIX = "._original";
+
     public static class Defaults {
         public static final FieldType FIELD_TYPE = new FieldType();
 
@@ -308,14 +313,15 @@ public final class KeywordFieldMapper extends FieldMapper {
                 // deduplicate in the common default case to save some memory
                 fieldtype = Defaults.FIELD_TYPE;
             }
-            return new KeywordFieldMapper(
-                name,
-                fieldtype,
-                buildFieldType(context, fieldtype),
-                multiFieldsBuilder.build(this, context),
-                copyTo.build(),
-                this
-            );
+            MultiFields multiFields = multiFieldsBuilder.build(this, context);
+            if (indexCreatedVersion.onOrAfter(Version.V_8_4_0)) {
+                for (Mapper mapper : multiFields) {
+                    if (mapper.name().endsWith(ORIGINAL_SUFFIX)) {
+                        throw new MapperParsingException("Cannot use reserved field name [" + mapper.name() + "]");
+                    }
+                }
+            }
+            return new KeywordFieldMapper(name, fieldtype, buildFieldType(context, fieldtype), multiFields, copyTo.build(), this);
         }
     }
 
@@ -929,6 +935,10 @@ public final class KeywordFieldMapper extends FieldMapper {
 
         if (value.length() > fieldType().ignoreAbove()) {
             context.addIgnoredField(name());
+            if (hasScript() == false && context.mappingLookup().isSourceSynthetic()) {
+                // Keep the original so synthetic _source can still return it
+                context.doc().add(new StoredField(originalName(), new BytesRef(value)));
+            }
             return;
         }
 
@@ -1044,11 +1054,6 @@ public final class KeywordFieldMapper extends FieldMapper {
                 "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it doesn't have doc values"
             );
         }
-        if (fieldType().ignoreAbove() != Defaults.IGNORE_ABOVE) {
-            throw new IllegalArgumentException(
-                "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares ignore_above"
-            );
-        }
         if (copyTo.copyToFields().isEmpty() != true) {
             throw new IllegalArgumentException(
                 "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares copy_to"
@@ -1059,6 +1064,9 @@ public final class KeywordFieldMapper extends FieldMapper {
                 "field [" + name() + "] of type [" + typeName() + "] doesn't support synthetic source because it declares a normalizer"
             );
         }
+        if (fieldType().ignoreAbove() != Defaults.IGNORE_ABOVE) {
+            return new IgnoreAboveSyntheticFieldLoader(name(), originalName(), simpleName);
+        }
         return new BytesSyntheticFieldLoader(name(), simpleName) {
             @Override
             protected BytesRef convert(BytesRef value) {
@@ -1073,6 +1081,91 @@ public final class KeywordFieldMapper extends FieldMapper {
         };
     }
 
+    /**
+     * The name of the stored field that keeps values longer than
+     * {@code ignore_above} when {@code _source} is synthetic. Multi-fields
+     * may not use this name, see {@link Builder#build}.
+     */
+    private String originalName() {
+        return name() + ORIGINAL_SUFFIX;
+    }
+
+    /**
+     * Loads synthetic source for fields that declare {@code ignore_above},
+     * combining the values from doc values with the over-long values that
+     * were stored on the side because they were too long to index.
+     */
+    private static class IgnoreAboveSyntheticFieldLoader implements SourceLoader.SyntheticFieldLoader {
+        private final String name;
+        private final String originalName;
+        private final String simpleName;
+
+        IgnoreAboveSyntheticFieldLoader(String name, String originalName, String simpleName) {
+            this.name = name;
+            this.originalName = originalName;
+            this.simpleName = simpleName;
+        }
+
+        @Override
+        public Leaf leaf(LeafReader reader, int[] docIdsInLeaf) throws IOException {
+            SortedSetDocValues dv = DocValues.getSortedSet(reader, name);
+            FieldInfo originalInfo = reader.getFieldInfos().fieldInfo(originalName);
+            if (dv.getValueCount() == 0 && originalInfo == null) {
+                return SourceLoader.SyntheticFieldLoader.NOTHING_LEAF;
+            }
+            List<BytesRef> values = new ArrayList<>();
+            StoredFieldVisitor originalVisitor = new StoredFieldVisitor() {
+                @Override
+                public Status needsField(FieldInfo fieldInfo) {
+                    return fieldInfo.name.equals(originalName) ? Status.YES : Status.NO;
+                }
+
+                @Override
+                public void binaryField(FieldInfo fieldInfo, byte[] value) {
+                    values.add(new BytesRef(value));
+                }
+            };
+            return new Leaf() {
+                @Override
+                public boolean empty() {
+                    return false;
+                }
+
+                @Override
+                public boolean advanceToDoc(int docId) throws IOException {
+                    values.clear();
+                    if (dv.advanceExact(docId)) {
+                        for (long ord = dv.nextOrd(); ord != SortedSetDocValues.NO_MORE_ORDS; ord = dv.nextOrd()) {
+                            values.add(BytesRef.deepCopyOf(dv.lookupOrd(ord)));
+                        }
+                    }
+                    if (originalInfo != null) {
+                        reader.document(docId, originalVisitor);
+                    }
+                    return values.isEmpty() == false;
+                }
+
+                @Override
+                public void write(XContentBuilder b) throws IOException {
+                    switch (values.size()) {
+                        case 0:
+                            return;
+                        case 1:
+                            BytesRef c = values.get(0);
+                            b.field(simpleName).utf8Value(c.bytes, c.offset, c.length);
+                            return;
+                        default:
+                            b.startArray(simpleName);
+                            for (BytesRef v : values) {
+                                b.utf8Value(v.bytes, v.offset, v.length);
+                            }
+                            b.endArray();
+                    }
+                }
+            };
+        }
+    }
+
     public abstract static class BytesSyntheticFieldLoader implements SourceLoader.SyntheticFieldLoader {
         private final String name;
         private final String simpleName;
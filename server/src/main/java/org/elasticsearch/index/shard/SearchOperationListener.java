@@ -9,10 +9,16 @@ package org.elasticsearch.index.shard;
 
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
 import org.elasticsearch.search.internal.ReaderContext;
 import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.transport.TransportRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,6 +26,24 @@ import java.util.List;
  */
 public interface SearchOperationListener {
 
+    /**
+     * Executed before the query phase of a shard search request is handed over to the search thread pool, which only happens once the
+     * given listener is completed. This lets a listener hold back query phases without occupying a search thread while they wait. The
+     * listener must be completed exactly once, and the {@link Releasable} it is completed with is closed once the query phase completed.
+     * @param indexShard the shard to search
+     * @param request the shard search request
+     * @param task the task of the shard search request, which may be cancelled while the query phase waits
+     * @param listener the listener to complete once the query phase may run
+     */
+    default void admitQueryPhase(
+        IndexShard indexShard,
+        ShardSearchRequest request,
+        SearchShardTask task,
+        ActionListener<Releasable> listener
+    ) {
+        listener.onResponse(() -> {});
+    }
+
     /**
      * Executed before the query phase is executed
      * @param searchContext the current search context
@@ -115,6 +139,51 @@ public interface SearchOperationListener {
             this.logger = logger;
         }
 
+        @Override
+        public void admitQueryPhase(
+            IndexShard indexShard,
+            ShardSearchRequest request,
+            SearchShardTask task,
+            ActionListener<Releasable> listener
+        ) {
+            admitQueryPhase(0, indexShard, request, task, new ArrayList<>(listeners.size()), listener);
+        }
+
+        private void admitQueryPhase(
+            int index,
+            IndexShard indexShard,
+            ShardSearchRequest request,
+            SearchShardTask task,
+            List<Releasable> admissions,
+            ActionListener<Releasable> listener
+        ) {
+            if (index == listeners.size()) {
+                listener.onResponse(Releasables.wrap(admissions));
+                return;
+            }
+            // the listeners admit the query phase one after the other, and it only runs once all of them did
+            final SearchOperationListener searchOperationListener = listeners.get(index);
+            try {
+                searchOperationListener.admitQueryPhase(indexShard, request, task, new ActionListener<>() {
+                    @Override
+                    public void onResponse(Releasable admission) {
+                        admissions.add(admission);
+                        admitQueryPhase(index + 1, indexShard, request, task, admissions, listener);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Releasables.close(admissions);
+                        listener.onFailure(e);
+                    }
+                });
+            } catch (Exception e) {
+                logger.warn(() -> "admitQueryPhase listener [" + searchOperationListener + "] failed", e);
+                Releasables.close(admissions);
+                listener.onFailure(e);
+            }
+        }
+
         @Override
         public void onPreQueryPhase(SearchContext searchContext) {
             for (SearchOperationListener listener : listeners) {
@@ -130,6 +130,11 @@ public final class RecoveryFileChunkRequest extends RecoveryTransportRequest imp
         return lastChunk;
     }
 
+    @Override
+    public boolean ownsWrittenReleasableBytes() {
+        return true;
+    }
+
     @Override
     public void incRef() {
         content.incRef();
@@ -114,6 +114,7 @@ public class RecoverySourceHandler {
     private final int chunkSizeInBytes;
     private final RecoveryTargetHandler recoveryTarget;
     private final int maxConcurrentFileChunks;
+    private final int maxConcurrentFiles;
     private final int maxConcurrentOperations;
     private final int maxConcurrentSnapshotFileDownloads;
     private final boolean useSnapshots;
@@ -130,6 +131,7 @@ public class RecoverySourceHandler {
         StartRecoveryRequest request,
         int fileChunkSizeInBytes,
         int maxConcurrentFileChunks,
+        int maxConcurrentFiles,
         int maxConcurrentOperations,
         int maxConcurrentSnapshotFileDownloads,
         boolean useSnapshots,
@@ -144,6 +146,7 @@ public class RecoverySourceHandler {
         this.logger = Loggers.getLogger(getClass(), request.shardId(), "recover to " + request.targetNode().getName());
         this.chunkSizeInBytes = fileChunkSizeInBytes;
         this.maxConcurrentFileChunks = maxConcurrentFileChunks;
+        this.maxConcurrentFiles = maxConcurrentFiles;
         this.maxConcurrentOperations = maxConcurrentOperations;
         this.maxConcurrentSnapshotFileDownloads = maxConcurrentSnapshotFileDownloads;
         this.useSnapshots = useSnapshots;
@@ -1329,6 +1332,42 @@ public class RecoverySourceHandler {
 
     void sendFiles(Store store, StoreFileMetadata[] files, IntSupplier translogOps, ActionListener<Void> listener) {
         ArrayUtil.timSort(files, Comparator.comparingLong(StoreFileMetadata::length)); // send smallest first
+        final int streams = Math.max(1, Math.min(maxConcurrentFiles, files.length));
+        if (streams == 1) {
+            sendFilesStream(store, files, translogOps, listener);
+            return;
+        }
+        // spread the files round-robin over the streams so that each stream still sends its smallest files first and the streams
+        // finish at about the same time; the target tracks each file separately so it does not mind receiving several at once
+        final List<List<StoreFileMetadata>> filesPerStream = new ArrayList<>(streams);
+        for (int i = 0; i < streams; i++) {
+            filesPerStream.add(new ArrayList<>());
+        }
+        for (int i = 0; i < files.length; i++) {
+            filesPerStream.get(i % streams).add(files[i]);
+        }
+        final CountDown countDown = new CountDown(streams);
+        final ActionListener<Void> streamListener = ActionListener.wrap(ignored -> {
+            if (countDown.countDown()) {
+                listener.onResponse(null);
+            }
+        }, e -> {
+            if (countDown.fastForward()) {
+                listener.onFailure(e);
+            } else {
+                logger.debug("failed to send files after another stream already failed", e);
+            }
+        });
+        for (List<StoreFileMetadata> streamFiles : filesPerStream) {
+            sendFilesStream(store, streamFiles.toArray(new StoreFileMetadata[0]), translogOps, streamListener);
+        }
+    }
+
+    /**
+     * Sends the given files, which must be sorted by length, one after the other with up to {@link #maxConcurrentFileChunks} outstanding
+     * chunk requests.
+     */
+    private void sendFilesStream(Store store, StoreFileMetadata[] files, IntSupplier translogOps, ActionListener<Void> listener) {
         // use a smaller buffer than the configured chunk size if we only have files smaller than the chunk size
         final int bufferSize = files.length == 0 ? 0 : (int) Math.min(chunkSizeInBytes, files[files.length - 1].length());
         Releasable temporaryStoreRef = acquireStore(store);
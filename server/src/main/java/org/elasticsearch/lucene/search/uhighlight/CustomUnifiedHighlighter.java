@@ -10,7 +10,10 @@ package org.elasticsearch.lucene.search.uhighlight;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.PostingsEnum;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.queries.spans.SpanMultiTermQueryWrapper;
 import org.apache.lucene.queries.spans.SpanNearQuery;
 import org.apache.lucene.queries.spans.SpanOrQuery;
@@ -67,6 +70,9 @@ public class CustomUnifiedHighlighter extends UnifiedHighlighter {
     private final CustomFieldHighlighter fieldHighlighter;
     private final int maxAnalyzedOffset;
     private final Integer queryMaxAnalyzedOffset;
+    private final boolean skipUnmatchedDocs;
+    private BytesRef[] highlightTerms;
+    private boolean highlightsOnlyTerms;
 
     /**
      * Creates a new instance of {@link CustomUnifiedHighlighter}
@@ -87,6 +93,10 @@ public class CustomUnifiedHighlighter extends UnifiedHighlighter {
      * @param fieldMatcher decides which terms should be highlighted
      * @param maxAnalyzedOffset if the field is more than this long we'll refuse to use the ANALYZED
      *                          offset source for it because it'd be super slow
+     * @param skipUnmatchedDocs if the postings of the field can be used to skip analyzing documents that
+     *                          don't contain any of the terms to highlight. Only safe if the field is indexed
+     *                          with the analyzer used for highlighting and the postings of the document hold
+     *                          all the values that are highlighted.
      */
     public CustomUnifiedHighlighter(
         IndexSearcher searcher,
@@ -102,7 +112,8 @@ public class CustomUnifiedHighlighter extends UnifiedHighlighter {
         int maxPassages,
         Predicate<String> fieldMatcher,
         int maxAnalyzedOffset,
-        Integer queryMaxAnalyzedOffset
+        Integer queryMaxAnalyzedOffset,
+        boolean skipUnmatchedDocs
     ) throws IOException {
         super(searcher, analyzer);
         this.offsetSource = offsetSource;
@@ -115,6 +126,7 @@ public class CustomUnifiedHighlighter extends UnifiedHighlighter {
         this.setFieldMatcher(fieldMatcher);
         this.maxAnalyzedOffset = maxAnalyzedOffset;
         this.queryMaxAnalyzedOffset = queryMaxAnalyzedOffset;
+        this.skipUnmatchedDocs = skipUnmatchedDocs;
         fieldHighlighter = getFieldHighlighter(field, query, extractTerms(query), maxPassages);
     }
 
@@ -155,10 +167,43 @@ public class CustomUnifiedHighlighter extends UnifiedHighlighter {
                     + "] and this will tolerate long field values by truncating them."
             );
         }
+        if (skipUnmatchedDocs
+            && noMatchSize == 0
+            && fieldHighlighter.getFieldOffsetStrategy().getOffsetSource() == OffsetSource.ANALYSIS
+            && hasTermsToHighlight(reader, docId) == false) {
+            // re-analyzing the field value would be wasted as there is nothing to highlight in it
+            return EMPTY_SNIPPET;
+        }
         Snippet[] result = (Snippet[]) fieldHighlighter.highlightFieldForDoc(reader, docId, fieldValue);
         return result == null ? EMPTY_SNIPPET : result;
     }
 
+    /**
+     * Checks the postings of the field to find out if the document may contain anything to highlight. This
+     * is much cheaper than analyzing large field values, but only possible if the query boils down to terms.
+     */
+    private boolean hasTermsToHighlight(LeafReader reader, int docId) throws IOException {
+        if (highlightsOnlyTerms == false) {
+            return true;
+        }
+        Terms terms = reader.terms(field);
+        if (terms == null) {
+            // the field isn't indexed in this segment so we can't tell
+            return true;
+        }
+        TermsEnum termsEnum = terms.iterator();
+        PostingsEnum postings = null;
+        for (BytesRef term : highlightTerms) {
+            if (termsEnum.seekExact(term)) {
+                postings = termsEnum.postings(postings, PostingsEnum.NONE);
+                if (postings.advance(docId) == docId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     protected BreakIterator getBreakIterator(String field) {
         return breakIterator;
@@ -180,6 +225,8 @@ public class CustomUnifiedHighlighter extends UnifiedHighlighter {
         Set<HighlightFlag> highlightFlags = getFlags(field);
         PhraseHelper phraseHelper = getPhraseHelper(field, query, highlightFlags);
         LabelledCharArrayMatcher[] automata = getAutomata(field, query, highlightFlags);
+        this.highlightTerms = terms;
+        this.highlightsOnlyTerms = automata.length == 0 && phraseHelper.willRewrite() == false;
         UHComponents components = new UHComponents(field, fieldMatcher, query, terms, phraseHelper, automata, false, highlightFlags);
         OffsetSource offsetSource = getOptimizedOffsetSource(components);
         BreakIterator breakIterator = new SplittingBreakIterator(getBreakIterator(field), UnifiedHighlighter.MULTIVAL_SEP_CHAR);
@@ -54,6 +54,8 @@ import org.elasticsearch.common.blobstore.fs.FsBlobContainer;
 import org.elasticsearch.common.blobstore.support.BlobMetadata;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.compress.NotXContentException;
 import org.elasticsearch.common.io.Streams;
@@ -254,12 +256,30 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
      */
     public static final Setting<Boolean> USE_FOR_PEER_RECOVERY_SETTING = Setting.boolSetting("use_for_peer_recovery", false);
 
+    /**
+     * Setting that bounds the in-memory cache of {@link SnapshotInfo} instances read from the repository. Each cached instance counts as
+     * one plus the number of indices it contains towards this limit. {@code snap-${uuid}.dat} blobs are never modified once they are
+     * referenced by the repository data so cached instances only need to be dropped when their snapshot is deleted. Set to {@code 0} to
+     * disable the cache.
+     */
+    public static final Setting<Integer> SNAPSHOT_INFO_CACHE_MAX_INDICES_SETTING = Setting.intSetting(
+        "snapshot_info_cache_max_indices",
+        100_000,
+        0
+    );
+
     protected final boolean supportURLRepo;
 
     private final boolean compress;
 
     private final boolean cacheRepositoryData;
 
+    /**
+     * Cache of {@link SnapshotInfo} keyed by snapshot UUID, {@code null} if disabled via {@link #SNAPSHOT_INFO_CACHE_MAX_INDICES_SETTING}.
+     */
+    @Nullable
+    private final Cache<String, SnapshotInfo> snapshotInfoCache;
+
     private volatile RateLimiter snapshotRateLimiter;
 
     private volatile RateLimiter restoreRateLimiter;
@@ -400,6 +420,13 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         restoreRateLimiter = getRateLimiter(metadata.settings(), MAX_RESTORE_BYTES_PER_SEC);
         readOnly = metadata.settings().getAsBoolean(READONLY_SETTING_KEY, false);
         cacheRepositoryData = CACHE_REPOSITORY_DATA.get(metadata.settings());
+        final int snapshotInfoCacheMaxIndices = SNAPSHOT_INFO_CACHE_MAX_INDICES_SETTING.get(metadata.settings());
+        snapshotInfoCache = snapshotInfoCacheMaxIndices == 0
+            ? null
+            : CacheBuilder.<String, SnapshotInfo>builder()
+                .setMaximumWeight(snapshotInfoCacheMaxIndices)
+                .weigher((uuid, snapshotInfo) -> 1L + snapshotInfo.indices().size())
+                .build();
         bufferSize = Math.toIntExact(BUFFER_SIZE_SETTING.get(metadata.settings()).getBytes());
         this.namedXContentRegistry = namedXContentRegistry;
         this.basePath = basePath;
@@ -975,6 +1002,11 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         RepositoryData updatedRepoData,
         ActionListener<Void> listener
     ) {
+        if (snapshotInfoCache != null) {
+            for (SnapshotId snapshotId : deletedSnapshots) {
+                snapshotInfoCache.invalidate(snapshotId.getUUID());
+            }
+        }
         cleanupStaleBlobs(deletedSnapshots, foundIndices, rootBlobs, updatedRepoData, listener.map(ignored -> null));
     }
 
@@ -1186,7 +1218,7 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         if (foundIndices.keySet().equals(survivingIndexIds)) {
             groupedListener.onResponse(DeleteResult.ZERO);
         } else {
-            executor.execute(ActionRunnable.supply(groupedListener, () -> cleanupStaleIndices(foundIndices, survivingIndexIds)));
+            cleanupStaleIndices(foundIndices, survivingIndexIds, groupedListener);
         }
     }
 
@@ -1313,16 +1345,54 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         return Collections.emptyList();
     }
 
-    private DeleteResult cleanupStaleIndices(Map<String, BlobContainer> foundIndices, Set<String> survivingIndexIds) {
-        DeleteResult deleteResult = DeleteResult.ZERO;
+    /**
+     * Deletes the folders of all indices in {@code foundIndices} that are not in {@code survivingIndexIds}. The folders are deleted in
+     * parallel on the snapshot pool, with no more than one task per pool thread queued at a time so that a delete of many snapshots does
+     * not hold up other snapshot operations. Package private for testing.
+     */
+    void cleanupStaleIndices(
+        Map<String, BlobContainer> foundIndices,
+        Set<String> survivingIndexIds,
+        ActionListener<DeleteResult> listener
+    ) {
+        final BlockingQueue<Map.Entry<String, BlobContainer>> staleIndices = new LinkedBlockingQueue<>();
         for (Map.Entry<String, BlobContainer> indexEntry : foundIndices.entrySet()) {
+            if (survivingIndexIds.contains(indexEntry.getKey()) == false) {
+                staleIndices.add(indexEntry);
+            }
+        }
+        if (staleIndices.isEmpty()) {
+            listener.onResponse(DeleteResult.ZERO);
+            return;
+        }
+        final GroupedActionListener<DeleteResult> groupedListener = new GroupedActionListener<>(ActionListener.wrap(deleteResults -> {
+            DeleteResult deleteResult = DeleteResult.ZERO;
+            for (DeleteResult result : deleteResults) {
+                deleteResult = deleteResult.add(result);
+            }
+            listener.onResponse(deleteResult);
+        }, listener::onFailure), staleIndices.size());
+        final int workers = Math.min(threadPool.info(ThreadPool.Names.SNAPSHOT).getMax(), staleIndices.size());
+        for (int i = 0; i < workers; i++) {
+            cleanupOneStaleIndex(staleIndices, groupedListener);
+        }
+    }
+
+    /**
+     * Tries to poll a stale index folder to delete from the given {@code queue}.
+     */
+    private void cleanupOneStaleIndex(BlockingQueue<Map.Entry<String, BlobContainer>> queue, ActionListener<DeleteResult> listener) {
+        final Map.Entry<String, BlobContainer> indexEntry = queue.poll();
+        if (indexEntry == null) {
+            return;
+        }
+        threadPool.executor(ThreadPool.Names.SNAPSHOT).execute(ActionRunnable.supply(listener, () -> {
             final String indexSnId = indexEntry.getKey();
             try {
-                if (survivingIndexIds.contains(indexSnId) == false) {
-                    logger.debug("[{}] Found stale index [{}]. Cleaning it up", metadata.name(), indexSnId);
-                    deleteResult = deleteResult.add(indexEntry.getValue().delete());
-                    logger.debug("[{}] Cleaned up stale index [{}]", metadata.name(), indexSnId);
-                }
+                logger.debug("[{}] Found stale index [{}]. Cleaning it up", metadata.name(), indexSnId);
+                final DeleteResult deleteResult = indexEntry.getValue().delete();
+                logger.debug("[{}] Cleaned up stale index [{}]", metadata.name(), indexSnId);
+                return deleteResult;
             } catch (Exception e) {
                 logger.warn(
                     () -> format(
@@ -1332,9 +1402,11 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                     ),
                     e
                 );
+                return DeleteResult.ZERO;
+            } finally {
+                cleanupOneStaleIndex(queue, listener);
             }
-        }
-        return deleteResult;
+        }));
     }
 
     @Override
@@ -1523,7 +1595,7 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
             Exception failure = null;
             SnapshotInfo snapshotInfo = null;
             try {
-                snapshotInfo = SNAPSHOT_FORMAT.read(metadata.name(), blobContainer(), snapshotId.getUUID(), namedXContentRegistry);
+                snapshotInfo = readSnapshotInfo(snapshotId);
             } catch (NoSuchFileException ex) {
                 failure = new SnapshotMissingException(metadata.name(), snapshotId, ex);
             } catch (IOException | NotXContentException ex) {
@@ -1546,6 +1618,21 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         });
     }
 
+    private SnapshotInfo readSnapshotInfo(SnapshotId snapshotId) throws IOException {
+        final String uuid = snapshotId.getUUID();
+        if (snapshotInfoCache != null) {
+            final SnapshotInfo cached = snapshotInfoCache.get(uuid);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final SnapshotInfo snapshotInfo = SNAPSHOT_FORMAT.read(metadata.name(), blobContainer(), uuid, namedXContentRegistry);
+        if (snapshotInfoCache != null) {
+            snapshotInfoCache.put(uuid, snapshotInfo);
+        }
+        return snapshotInfo;
+    }
+
     @Override
     public Metadata getSnapshotGlobalMetadata(final SnapshotId snapshotId) {
         try {
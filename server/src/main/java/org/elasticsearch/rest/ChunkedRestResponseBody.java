@@ -0,0 +1,128 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.rest;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.core.CheckedConsumer;
+import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * The body of a rest response that is serialized lazily, one chunk at a time, while it is being sent, rather than being built in memory
+ * in its entirety before sending it. The HTTP layer only asks for the next chunk once the previous one has been written to the network,
+ * so a slow client does not make us buffer the whole response.
+ */
+public interface ChunkedRestResponseBody {
+
+    /**
+     * @return true once this body has been fully serialized by calls to {@link #encodeChunk}
+     */
+    boolean isDone();
+
+    /**
+     * Serializes the next part of this body into a new buffer obtained from the given {@code recycler}. The buffer is released by the
+     * caller once it has been written.
+     *
+     * @param sizeHint the number of bytes after which to stop serializing further parts of the body into this chunk
+     * @param recycler the recycler to obtain the pages of the returned chunk from
+     * @return the next chunk of this body
+     */
+    ReleasableBytesReference encodeChunk(int sizeHint, Recycler<BytesRef> recycler) throws IOException;
+
+    /**
+     * @return the value of the {@code content-type} header of the response
+     */
+    String getResponseContentTypeString();
+
+    /**
+     * Creates a body that serializes the given parts of an x-content response in turn, with a builder configured for the given channel as
+     * {@link RestChannel#newBuilder()} would be.
+     *
+     * @param chunkIterator the parts of the response, which together must form a single valid x-content value
+     * @param params        the parameters to serialize the parts with
+     * @param channel       the channel that the response will be sent on
+     */
+    static ChunkedRestResponseBody fromXContent(
+        Iterator<? extends ToXContent> chunkIterator,
+        ToXContent.Params params,
+        RestChannel channel
+    ) throws IOException {
+        return new StreamingChunkedRestResponseBody() {
+
+            private final XContentBuilder builder = channel.newBuilder(channel.request().getXContentType(), null, true, output);
+
+            @Override
+            public boolean isDone() {
+                return chunkIterator.hasNext() == false;
+            }
+
+            @Override
+            protected void writeNextPart() throws IOException {
+                chunkIterator.next().toXContent(builder, params);
+                if (chunkIterator.hasNext() == false) {
+                    builder.close();
+                }
+            }
+
+            @Override
+            protected void flush() throws IOException {
+                if (isDone() == false) {
+                    // closing the builder after the last part already flushed it
+                    builder.flush();
+                }
+            }
+
+            @Override
+            public String getResponseContentTypeString() {
+                return builder.getResponseContentTypeString();
+            }
+        };
+    }
+
+    /**
+     * Creates a body that writes the given parts of a text response in turn as UTF-8.
+     *
+     * @param contentType   the value of the {@code content-type} header of the response
+     * @param chunkIterator the parts of the response
+     */
+    static ChunkedRestResponseBody fromTextChunks(String contentType, Iterator<CheckedConsumer<Writer, IOException>> chunkIterator) {
+        return new StreamingChunkedRestResponseBody() {
+
+            private final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+
+            @Override
+            public boolean isDone() {
+                return chunkIterator.hasNext() == false;
+            }
+
+            @Override
+            protected void writeNextPart() throws IOException {
+                chunkIterator.next().accept(writer);
+            }
+
+            @Override
+            protected void flush() throws IOException {
+                writer.flush();
+            }
+
+            @Override
+            public String getResponseContentTypeString() {
+                return contentType;
+            }
+        };
+    }
+}
@@ -16,12 +16,17 @@ import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.transport.BytesRefRecycler;
 import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -43,7 +48,10 @@ public class RestResponse {
     private static final Logger SUPPRESSED_ERROR_LOGGER = LogManager.getLogger("rest.suppressed");
 
     private final RestStatus status;
-    private final BytesReference content;
+    @Nullable
+    private BytesReference content;
+    @Nullable
+    private final ChunkedRestResponseBody chunkedResponseBody;
     private final String responseMediaType;
     private Map<String, List<String>> customHeaders;
 
@@ -74,9 +82,20 @@ public class RestResponse {
     public RestResponse(RestStatus status, String responseMediaType, BytesReference content) {
         this.status = status;
         this.content = content;
+        this.chunkedResponseBody = null;
         this.responseMediaType = responseMediaType;
     }
 
+    /**
+     * Creates a response whose body is serialized chunk by chunk while it is sent.
+     */
+    public RestResponse(RestStatus status, ChunkedRestResponseBody content) {
+        this.status = status;
+        this.content = null;
+        this.chunkedResponseBody = content;
+        this.responseMediaType = content.getResponseContentTypeString();
+    }
+
     public RestResponse(RestChannel channel, Exception e) throws IOException {
         this(channel, ExceptionsHelper.status(e), e);
     }
@@ -98,6 +117,7 @@ public class RestResponse {
             }
         }
         this.status = status;
+        this.chunkedResponseBody = null;
         try (XContentBuilder builder = channel.newErrorBuilder()) {
             build(builder, params, status, channel.detailedErrorsEnabled(), e);
             this.content = BytesReference.bytes(builder);
@@ -112,10 +132,43 @@ public class RestResponse {
         return this.responseMediaType;
     }
 
+    /**
+     * @return true if the body of this response has yet to be serialized, in which case it should be sent using {@link #chunkedContent()}
+     */
+    public boolean isChunked() {
+        return chunkedResponseBody != null && content == null;
+    }
+
+    /**
+     * @return the body of this response, which is serialized in full by this call if it is {@link #isChunked() chunked}
+     */
     public BytesReference content() {
+        if (isChunked()) {
+            final BytesStreamOutput out = new BytesStreamOutput();
+            try {
+                while (chunkedResponseBody.isDone() == false) {
+                    try (
+                        ReleasableBytesReference chunk = chunkedResponseBody.encodeChunk(
+                            Integer.MAX_VALUE,
+                            BytesRefRecycler.NON_RECYCLING_INSTANCE
+                        )
+                    ) {
+                        chunk.writeTo(out);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            content = out.bytes();
+        }
         return this.content;
     }
 
+    @Nullable
+    public ChunkedRestResponseBody chunkedContent() {
+        return chunkedResponseBody;
+    }
+
     public RestStatus status() {
         return this.status;
     }
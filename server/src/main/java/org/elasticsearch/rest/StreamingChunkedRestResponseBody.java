@@ -0,0 +1,71 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.rest;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.core.IOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link ChunkedRestResponseBody} whose serializer writes to a single {@link #output} stream, which sends its output to the buffer of
+ * the chunk that is currently being encoded.
+ */
+abstract class StreamingChunkedRestResponseBody implements ChunkedRestResponseBody {
+
+    private RecyclerBytesStreamOutput target;
+
+    protected final OutputStream output = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+    };
+
+    /**
+     * Writes the next part of the body to {@link #output}. Only called while {@link #isDone()} returns false.
+     */
+    protected abstract void writeNextPart() throws IOException;
+
+    /**
+     * Writes out anything that the serializer buffered internally to {@link #output}.
+     */
+    protected abstract void flush() throws IOException;
+
+    @Override
+    public final ReleasableBytesReference encodeChunk(int sizeHint, Recycler<BytesRef> recycler) throws IOException {
+        assert target == null : "already encoding a chunk";
+        final RecyclerBytesStreamOutput chunkStream = new RecyclerBytesStreamOutput(recycler);
+        target = chunkStream;
+        boolean success = false;
+        try {
+            while (isDone() == false && chunkStream.size() < sizeHint) {
+                writeNextPart();
+            }
+            flush();
+            final ReleasableBytesReference chunk = new ReleasableBytesReference(chunkStream.bytes(), chunkStream);
+            success = true;
+            return chunk;
+        } finally {
+            target = null;
+            if (success == false) {
+                IOUtils.closeWhileHandlingException(chunkStream);
+            }
+        }
+    }
+}
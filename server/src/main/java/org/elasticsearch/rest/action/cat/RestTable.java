@@ -10,23 +10,24 @@ package org.elasticsearch.rest.action.cat;
 
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.Table;
-import org.elasticsearch.common.io.Streams;
-import org.elasticsearch.common.io.UTF8StreamWriter;
-import org.elasticsearch.common.io.stream.BytesStream;
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.SizeValue;
 import org.elasticsearch.common.util.set.Sets;
 import org.elasticsearch.core.Booleans;
+import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestResponse;
 import org.elasticsearch.rest.RestStatus;
-import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -58,20 +59,28 @@ public class RestTable {
 
     public static RestResponse buildXContentBuilder(Table table, RestChannel channel) throws Exception {
         RestRequest request = channel.request();
-        XContentBuilder builder = channel.newBuilder();
         List<DisplayHeader> displayHeaders = buildDisplayHeaders(table, request);
-
-        builder.startArray();
         List<Integer> rowOrder = getRowOrder(table, request);
-        for (Integer row : rowOrder) {
-            builder.startObject();
-            for (DisplayHeader header : displayHeaders) {
-                builder.field(header.display, renderValue(request, table.getAsMap().get(header.name).get(row).value));
-            }
-            builder.endObject();
-        }
-        builder.endArray();
-        return new RestResponse(RestStatus.OK, builder);
+
+        // the rows are serialized lazily, chunk by chunk, as the response is sent
+        return new RestResponse(
+            RestStatus.OK,
+            ChunkedRestResponseBody.fromXContent(
+                Iterators.concat(
+                    Iterators.<ToXContent>single((builder, params) -> builder.startArray()),
+                    rowOrder.stream().<ToXContent>map(row -> (builder, params) -> {
+                        builder.startObject();
+                        for (DisplayHeader header : displayHeaders) {
+                            builder.field(header.display, renderValue(request, table.getAsMap().get(header.name).get(row).value));
+                        }
+                        return builder.endObject();
+                    }).iterator(),
+                    Iterators.<ToXContent>single((builder, params) -> builder.endArray())
+                ),
+                ToXContent.EMPTY_PARAMS,
+                channel
+            )
+        );
     }
 
     public static RestResponse buildTextPlainResponse(Table table, RestChannel channel) throws IOException {
@@ -80,37 +89,42 @@ public class RestTable {
 
         List<DisplayHeader> headers = buildDisplayHeaders(table, request);
         int[] width = buildWidths(table, request, verbose, headers);
-
-        BytesStream bytesOut = Streams.flushOnCloseStream(channel.bytesOutput());
-        UTF8StreamWriter out = new UTF8StreamWriter().setOutput(bytesOut);
         int lastHeader = headers.size() - 1;
-        if (verbose) {
-            for (int col = 0; col < headers.size(); col++) {
-                DisplayHeader header = headers.get(col);
-                boolean isLastColumn = col == lastHeader;
-                pad(new Table.Cell(header.display, table.findHeaderByName(header.name)), width[col], request, out, isLastColumn);
-                if (isLastColumn == false) {
-                    out.append(" ");
-                }
-            }
-            out.append("\n");
-        }
-
         List<Integer> rowOrder = getRowOrder(table, request);
 
-        for (Integer row : rowOrder) {
+        CheckedConsumer<Writer, IOException> headerLine = out -> {
             for (int col = 0; col < headers.size(); col++) {
                 DisplayHeader header = headers.get(col);
                 boolean isLastColumn = col == lastHeader;
-                pad(table.getAsMap().get(header.name).get(row), width[col], request, out, isLastColumn);
+                pad(new Table.Cell(header.display, table.findHeaderByName(header.name)), width[col], request, out, isLastColumn);
                 if (isLastColumn == false) {
                     out.append(" ");
                 }
             }
             out.append("\n");
-        }
-        out.close();
-        return new RestResponse(RestStatus.OK, RestResponse.TEXT_CONTENT_TYPE, bytesOut.bytes());
+        };
+
+        // the rows are rendered lazily, chunk by chunk, as the response is sent
+        return new RestResponse(
+            RestStatus.OK,
+            ChunkedRestResponseBody.fromTextChunks(
+                RestResponse.TEXT_CONTENT_TYPE,
+                Iterators.concat(
+                    verbose ? Iterators.single(headerLine) : Collections.emptyIterator(),
+                    rowOrder.stream().<CheckedConsumer<Writer, IOException>>map(row -> out -> {
+                        for (int col = 0; col < headers.size(); col++) {
+                            DisplayHeader header = headers.get(col);
+                            boolean isLastColumn = col == lastHeader;
+                            pad(table.getAsMap().get(header.name).get(row), width[col], request, out, isLastColumn);
+                            if (isLastColumn == false) {
+                                out.append(" ");
+                            }
+                        }
+                        out.append("\n");
+                    }).iterator()
+                )
+            )
+        );
     }
 
     static List<Integer> getRowOrder(Table table, RestRequest request) {
@@ -297,11 +311,11 @@ public class RestTable {
         return width;
     }
 
-    public static void pad(Table.Cell cell, int width, RestRequest request, UTF8StreamWriter out) throws IOException {
+    public static void pad(Table.Cell cell, int width, RestRequest request, Writer out) throws IOException {
         pad(cell, width, request, out, false);
     }
 
-    public static void pad(Table.Cell cell, int width, RestRequest request, UTF8StreamWriter out, boolean isLast) throws IOException {
+    public static void pad(Table.Cell cell, int width, RestRequest request, Writer out, boolean isLast) throws IOException {
         String sValue = renderValue(request, cell.value);
         int length = sValue == null ? 0 : sValue.length();
         byte leftOver = (byte) (width - length);
@@ -8,18 +8,23 @@
 
 package org.elasticsearch.rest.action.document;
 
+import org.elasticsearch.action.ActionRunnable;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.bulk.BulkShardRequest;
 import org.elasticsearch.action.support.ActiveShardCount;
 import org.elasticsearch.client.internal.Requests;
 import org.elasticsearch.client.internal.node.NodeClient;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.CheckedRunnable;
 import org.elasticsearch.core.RestApiVersion;
 import org.elasticsearch.rest.BaseRestHandler;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.action.RestStatusToXContentListener;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.List;
@@ -39,6 +44,11 @@ import static org.elasticsearch.rest.RestRequest.Method.PUT;
 public class RestBulkAction extends BaseRestHandler {
     public static final String TYPES_DEPRECATION_MESSAGE = "[types removal]" + " Specifying types in bulk requests is deprecated.";
 
+    /**
+     * Bodies of at least this many bytes are parsed on the {@link ThreadPool.Names#WRITE} thread pool rather than on the network thread.
+     */
+    static final int PARSE_ON_WRITE_THREAD_THRESHOLD_BYTES = 256 * 1024;
+
     private final boolean allowExplicitIndex;
 
     public RestBulkAction(Settings settings) {
@@ -79,8 +89,9 @@ public class RestBulkAction extends BaseRestHandler {
         Boolean defaultRequireAlias = request.paramAsBoolean(DocWriteRequest.REQUIRE_ALIAS, null);
         bulkRequest.timeout(request.paramAsTime("timeout", BulkShardRequest.DEFAULT_TIMEOUT));
         bulkRequest.setRefreshPolicy(request.param("refresh"));
-        bulkRequest.add(
-            request.requiredContent(),
+        final BytesReference content = request.requiredContent();
+        final CheckedRunnable<IOException> parse = () -> bulkRequest.add(
+            content,
             defaultIndex,
             defaultRouting,
             defaultFetchSourceContext,
@@ -91,7 +102,18 @@ public class RestBulkAction extends BaseRestHandler {
             request.getRestApiVersion()
         );
 
-        return channel -> client.bulk(bulkRequest, new RestStatusToXContentListener<>(channel));
+        if (content.length() < PARSE_ON_WRITE_THREAD_THRESHOLD_BYTES) {
+            parse.run();
+            return channel -> client.bulk(bulkRequest, new RestStatusToXContentListener<>(channel));
+        }
+        // Parsing a large body takes long enough to hold up all the other connections served by this network thread, so we do it on the
+        // write thread pool instead, which is where the bulk action is executed anyway
+        return channel -> client.threadPool()
+            .executor(ThreadPool.Names.WRITE)
+            .execute(ActionRunnable.wrap(new RestStatusToXContentListener<BulkResponse>(channel), l -> {
+                parse.run();
+                client.bulk(bulkRequest, l);
+            }));
     }
 
     @Override
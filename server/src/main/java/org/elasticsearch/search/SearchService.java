@@ -486,7 +486,21 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
                     return;
                 }
             }
-            ensureAfterSeqNoRefreshed(shard, orig, () -> executeQueryPhase(orig, task), l);
+            // the query phase may have to wait for its turn, which must not hold up a search thread
+            shard.getSearchOperationListener()
+                .admitQueryPhase(
+                    shard,
+                    orig,
+                    task,
+                    l.delegateFailure(
+                        (delegate, admission) -> ensureAfterSeqNoRefreshed(
+                            shard,
+                            orig,
+                            () -> executeQueryPhase(orig, task),
+                            ActionListener.runBefore(delegate, admission::close)
+                        )
+                    )
+                );
         }));
     }
 
@@ -64,6 +64,12 @@ import static java.util.Collections.emptyMap;
 public class FetchPhase {
     private static final Logger LOGGER = LogManager.getLogger(FetchPhase.class);
 
+    /**
+     * The maximum average distance between the ids of the documents to fetch from a segment for them to be
+     * read with the stored fields reader that is optimized for sequential access.
+     */
+    static final int SEQUENTIAL_STORED_FIELDS_MAX_AVERAGE_GAP = 8;
+
     private final FetchSubPhase[] fetchSubPhases;
 
     public FetchPhase(List<FetchSubPhase> fetchSubPhases) {
@@ -123,7 +129,6 @@ public class FetchPhase {
         List<LeafReaderContext> leaves = context.searcher().getIndexReader().leaves();
         LeafNestedDocuments leafNestedDocuments = null;
         CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader = null;
-        boolean hasSequentialDocs = hasSequentialDocs(docs);
         SourceLoader.Leaf leafSourceLoader = null;
         int leafIndex = -1;
         LeafReaderContext leafReaderContext = null;
@@ -143,9 +148,8 @@ public class FetchPhase {
                         endReaderIdx = endReaderIdx(context, leafReaderContext, index, docs);
                         int[] docIdsInLeaf = docIdsInLeaf(index, endReaderIdx, docs, leafReaderContext.docBase);
                         if (leafReaderContext.reader()instanceof SequentialStoredFieldsLeafReader lf
-                            && hasSequentialDocs
-                            && docs.length >= 10) {
-                            // All the docs to fetch are adjacent but Lucene stored fields are optimized
+                            && useSequentialStoredFieldsReader(docIdsInLeaf)) {
+                            // The docs to fetch are close to each other but Lucene stored fields are optimized
                             // for random access and don't optimize for sequential access - except for merging.
                             // So we do a little hack here and pretend we're going to do merges in order to
                             // get better sequential access.
@@ -525,11 +529,17 @@ public class FetchPhase {
     }
 
     /**
-     * Returns <code>true</code> if the provided <code>docs</code> are
-     * stored sequentially (Dn = Dn-1 + 1).
+     * Stored fields are compressed in blocks of documents. The reader that is used for merges decompresses each block
+     * once and keeps it around for the following documents, while the default reader decompresses what it needs again
+     * for every document. So the former is cheaper as soon as several of the documents to fetch share blocks, which
+     * we approximate by requiring enough documents that are close enough to each other.
      */
-    static boolean hasSequentialDocs(DocIdToIndex[] docs) {
-        return docs.length > 0 && docs[docs.length - 1].docId - docs[0].docId == docs.length - 1;
+    static boolean useSequentialStoredFieldsReader(int[] docIdsInLeaf) {
+        if (docIdsInLeaf.length < 10) {
+            return false;
+        }
+        long span = (long) docIdsInLeaf[docIdsInLeaf.length - 1] - docIdsInLeaf[0] + 1;
+        return span <= (long) docIdsInLeaf.length * SEQUENTIAL_STORED_FIELDS_MAX_AVERAGE_GAP;
     }
 
     interface Profiler {
@@ -150,7 +150,8 @@ public class UnifiedHighlighter implements Highlighter {
             higlighterNumberOfFragments,
             fieldMatcher(fieldContext),
             maxAnalyzedOffset,
-            fieldContext.field.fieldOptions().maxAnalyzedOffset()
+            fieldContext.field.fieldOptions().maxAnalyzedOffset(),
+            canSkipUnmatchedDocs(fieldContext)
         );
     }
 
@@ -228,6 +229,18 @@ public class UnifiedHighlighter implements Highlighter {
         return OffsetSource.ANALYSIS;
     }
 
+    /**
+     * Whether the postings of the field describe the values that are highlighted, so that documents without any of
+     * the terms to highlight can be skipped without re-analyzing their values. This isn't the case for fields that
+     * aren't indexed and for nested fields that are highlighted on their root document.
+     */
+    protected static boolean canSkipUnmatchedDocs(FieldHighlightContext fieldContext) {
+        MappedFieldType fieldType = fieldContext.fieldType;
+        return fieldType.isIndexed()
+            && fieldType.getTextSearchInfo().isTokenized()
+            && fieldContext.context.getSearchExecutionContext().nestedLookup().getNestedParent(fieldContext.fieldName) == null;
+    }
+
     private static Predicate<String> fieldMatcher(FieldHighlightContext fieldContext) {
         if (fieldContext.field.fieldOptions().requireFieldMatch()) {
             String fieldName = fieldContext.fieldName;
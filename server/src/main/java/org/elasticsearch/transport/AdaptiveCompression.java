@@ -0,0 +1,94 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decides whether to compress each outbound request on connections with {@link Compression.Enabled#ADAPTIVE} compression, according to how
+ * well the recent requests for the same action compressed. Requests for an action are compressed while compression shrinks them by at
+ * least {@link #MIN_SAVING}. Otherwise they are sent uncompressed, except for one in every {@link #RESAMPLE_INTERVAL} which is compressed
+ * anyway in case the content of the requests has changed.
+ */
+final class AdaptiveCompression {
+
+    static final double MIN_SAVING = 0.2;
+    static final int RESAMPLE_INTERVAL = 100;
+
+    // the weight of the latest measurement in the moving average of the compression ratio
+    private static final double LATEST_SAMPLE_WEIGHT = 0.25;
+
+    private final Map<String, ActionTracker> trackers = ConcurrentCollections.newConcurrentMap();
+
+    boolean shouldCompress(String action) {
+        return trackers.computeIfAbsent(action, a -> new ActionTracker()).shouldCompress();
+    }
+
+    /**
+     * Records the size of a compressed request before and after compression, if its action is tracked.
+     */
+    void onCompressed(String action, long uncompressedBytes, long compressedBytes) {
+        final ActionTracker tracker = trackers.get(action);
+        if (tracker != null && uncompressedBytes > 0) {
+            tracker.onCompressed(uncompressedBytes, compressedBytes);
+        }
+    }
+
+    Map<String, TransportStats.AdaptiveCompressionStats> getStats() {
+        final Map<String, TransportStats.AdaptiveCompressionStats> stats = new TreeMap<>();
+        trackers.forEach((action, tracker) -> stats.put(action, tracker.getStats()));
+        return stats;
+    }
+
+    private static final class ActionTracker {
+        private long compressedCount;
+        private long uncompressedCount;
+        private long sampledBytes;
+        private long sampledCompressedBytes;
+        private double compressionRatio = Double.NaN;
+        private int skippedSinceLastSample;
+
+        synchronized boolean shouldCompress() {
+            if (Double.isNaN(compressionRatio) || compressionRatio <= 1.0 - MIN_SAVING) {
+                return true;
+            }
+            if (++skippedSinceLastSample >= RESAMPLE_INTERVAL) {
+                skippedSinceLastSample = 0;
+                return true;
+            }
+            uncompressedCount += 1;
+            return false;
+        }
+
+        synchronized void onCompressed(long uncompressedBytes, long compressedBytes) {
+            compressedCount += 1;
+            sampledBytes += uncompressedBytes;
+            sampledCompressedBytes += compressedBytes;
+            final double ratio = (double) compressedBytes / uncompressedBytes;
+            if (Double.isNaN(compressionRatio)) {
+                compressionRatio = ratio;
+            } else {
+                compressionRatio = LATEST_SAMPLE_WEIGHT * ratio + (1 - LATEST_SAMPLE_WEIGHT) * compressionRatio;
+            }
+        }
+
+        synchronized TransportStats.AdaptiveCompressionStats getStats() {
+            return new TransportStats.AdaptiveCompressionStats(
+                Double.isNaN(compressionRatio) || compressionRatio <= 1.0 - MIN_SAVING,
+                compressedCount,
+                uncompressedCount,
+                sampledBytes,
+                sampledCompressedBytes
+            );
+        }
+    }
+}
@@ -99,6 +99,11 @@ public class Compression {
     public enum Enabled {
         TRUE,
         INDEXING_DATA,
+        /**
+         * Compress the requests for each action only while compressing them has recently been measured to save enough bytes, see
+         * {@link AdaptiveCompression}.
+         */
+        ADAPTIVE,
         FALSE
     }
 }
@@ -40,6 +40,7 @@ final class OutboundHandler {
     private final Recycler<BytesRef> recycler;
     private final HandlingTimeTracker handlingTimeTracker;
     private final boolean rstOnClose;
+    private final AdaptiveCompression adaptiveCompression = new AdaptiveCompression();
 
     private volatile long slowLogThresholdMs = Long.MAX_VALUE;
 
@@ -67,13 +68,18 @@ final class OutboundHandler {
         this.slowLogThresholdMs = slowLogThreshold.getMillis();
     }
 
+    AdaptiveCompression getAdaptiveCompression() {
+        return adaptiveCompression;
+    }
+
     void sendBytes(TcpChannel channel, BytesReference bytes, ActionListener<Void> listener) {
         internalSend(channel, bytes, null, listener);
     }
 
     /**
      * Sends the request to the given channel. This method should be used to send {@link TransportRequest}
-     * objects back to the caller.
+     * objects back to the caller. If {@code adaptivelyCompressed} is set then the compression scheme was chosen by
+     * {@link AdaptiveCompression}, which is told how well the request compressed.
      */
     void sendRequest(
         final DiscoveryNode node,
@@ -84,6 +90,7 @@ final class OutboundHandler {
         final TransportRequestOptions options,
         final Version channelVersion,
         final Compression.Scheme compressionScheme,
+        final boolean adaptivelyCompressed,
         final boolean isHandshake
     ) throws IOException, TransportException {
         Version version = Version.min(this.version, channelVersion);
@@ -108,6 +115,9 @@ final class OutboundHandler {
             }
         });
         sendMessage(channel, message, listener);
+        if (adaptivelyCompressed && message.isCompress()) {
+            adaptiveCompression.onCompressed(action, message.uncompressedLength(), message.compressedLength());
+        }
     }
 
     /**
@@ -12,6 +12,7 @@ import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
@@ -21,10 +22,15 @@ import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Streams;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 abstract class OutboundMessage extends NetworkMessage {
 
     protected final Writeable message;
+    private long uncompressedLength;
+    private long compressedLength;
 
     OutboundMessage(
         ThreadContext threadContext,
@@ -53,7 +59,19 @@ abstract class OutboundMessage extends NetworkMessage {
         }
 
         final boolean compress = TransportStatus.isCompress(status);
-        final StreamOutput stream = compress ? wrapCompressed(bytesStream) : bytesStream;
+        final long compressionStartPosition = bytesStream.position();
+        final ZeroCopyStreamOutput zeroCopyStream;
+        final StreamOutput stream;
+        if (compress) {
+            zeroCopyStream = null;
+            stream = wrapCompressed(bytesStream);
+        } else if (message instanceof TransportMessage transportMessage && transportMessage.ownsWrittenReleasableBytes()) {
+            zeroCopyStream = new ZeroCopyStreamOutput(bytesStream);
+            stream = zeroCopyStream;
+        } else {
+            zeroCopyStream = null;
+            stream = bytesStream;
+        }
         final BytesReference zeroCopyBuffer;
         try {
             stream.setVersion(version);
@@ -75,9 +93,10 @@ abstract class OutboundMessage extends NetworkMessage {
             // are written.
             if (compress) {
                 stream.close();
+                compressedLength = bytesStream.position() - compressionStartPosition;
             }
         }
-        final BytesReference message = bytesStream.bytes();
+        final BytesReference message = zeroCopyStream == null ? bytesStream.bytes() : zeroCopyStream.bytes();
         if (zeroCopyBuffer.length() == 0) {
             reference = message;
         } else {
@@ -93,15 +112,136 @@ abstract class OutboundMessage extends NetworkMessage {
     // compressed stream wrapped bytes must be no-close wrapped since we need to close the compressed wrapper below to release
     // resources and write EOS marker bytes but must not yet release the bytes themselves
     private StreamOutput wrapCompressed(RecyclerBytesStreamOutput bytesStream) throws IOException {
+        final OutputStream compressedStream;
         if (compressionScheme == Compression.Scheme.DEFLATE) {
-            return new OutputStreamStreamOutput(
-                CompressorFactory.COMPRESSOR.threadLocalOutputStream(org.elasticsearch.core.Streams.noCloseStream(bytesStream))
+            compressedStream = CompressorFactory.COMPRESSOR.threadLocalOutputStream(
+                org.elasticsearch.core.Streams.noCloseStream(bytesStream)
             );
         } else if (compressionScheme == Compression.Scheme.LZ4) {
-            return new OutputStreamStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+            compressedStream = Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream));
         } else {
             throw new IllegalArgumentException("Invalid compression scheme: " + compressionScheme);
         }
+        // counts the bytes before compression so that the benefit of compressing the message can be measured
+        return new OutputStreamStreamOutput(compressedStream) {
+            @Override
+            public void writeByte(byte b) throws IOException {
+                uncompressedLength += 1;
+                super.writeByte(b);
+            }
+
+            @Override
+            public void writeBytes(byte[] b, int offset, int length) throws IOException {
+                uncompressedLength += length;
+                super.writeBytes(b, offset, length);
+            }
+        };
+    }
+
+    /**
+     * @return the length of the compressed part of the message before compression, or {@code 0} if the message was not compressed
+     */
+    long uncompressedLength() {
+        return uncompressedLength;
+    }
+
+    /**
+     * @return the length of the compressed part of the message after compression, or {@code 0} if the message was not compressed
+     */
+    long compressedLength() {
+        return compressedLength;
+    }
+
+    /**
+     * Writes to the underlying {@link RecyclerBytesStreamOutput}, except that large {@link ReleasableBytesReference} instances are passed
+     * through to the network layer as they are rather than being copied. This saves copying the content of messages such as file chunks
+     * during recovery, and is only used for messages which keep these references alive until they have been sent, see
+     * {@link TransportMessage#ownsWrittenReleasableBytes()}.
+     */
+    static final class ZeroCopyStreamOutput extends StreamOutput {
+
+        // smaller references are cheaper to copy than to send as separate buffers
+        static final int MIN_ZERO_COPY_LENGTH = 16 * 1024;
+
+        private final RecyclerBytesStreamOutput delegate;
+        private final List<BytesReference> zeroCopyReferences = new ArrayList<>();
+        private final List<Integer> zeroCopyPositions = new ArrayList<>();
+        private int zeroCopyLength;
+
+        ZeroCopyStreamOutput(RecyclerBytesStreamOutput delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long position() {
+            return delegate.position() + zeroCopyLength;
+        }
+
+        @Override
+        public void writeByte(byte b) {
+            delegate.writeByte(b);
+        }
+
+        @Override
+        public void writeBytes(byte[] b, int offset, int length) {
+            delegate.writeBytes(b, offset, length);
+        }
+
+        @Override
+        public void writeInt(int i) throws IOException {
+            delegate.writeInt(i);
+        }
+
+        @Override
+        public void writeLong(long i) throws IOException {
+            delegate.writeLong(i);
+        }
+
+        @Override
+        public void writeWithSizePrefix(Writeable writeable) throws IOException {
+            delegate.writeWithSizePrefix(writeable);
+        }
+
+        @Override
+        public void writeBytesReference(BytesReference bytes) throws IOException {
+            if (bytes instanceof ReleasableBytesReference releasable && bytes.length() >= MIN_ZERO_COPY_LENGTH) {
+                assert releasable.hasReferences() : "message writes bytes that were already released";
+                writeVInt(bytes.length());
+                zeroCopyPositions.add(Math.toIntExact(delegate.position()));
+                zeroCopyReferences.add(bytes);
+                zeroCopyLength += bytes.length();
+            } else {
+                super.writeBytesReference(bytes);
+            }
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {
+            // the underlying stream is released once the message has been sent
+        }
+
+        /**
+         * @return the bytes written to the underlying stream with the large references spliced back in at the positions they were written
+         */
+        BytesReference bytes() {
+            final BytesReference buffered = delegate.bytes();
+            if (zeroCopyReferences.isEmpty()) {
+                return buffered;
+            }
+            final BytesReference[] references = new BytesReference[zeroCopyReferences.size() * 2 + 1];
+            int from = 0;
+            for (int i = 0; i < zeroCopyReferences.size(); i++) {
+                final int to = zeroCopyPositions.get(i);
+                references[i * 2] = buffered.slice(from, to - from);
+                references[i * 2 + 1] = zeroCopyReferences.get(i);
+                from = to;
+            }
+            references[references.length - 1] = buffered.slice(from, buffered.length() - from);
+            return CompositeBytesReference.of(references);
+        }
     }
 
     protected void writeVariableHeader(StreamOutput stream) throws IOException {
@@ -111,6 +111,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
     protected final NetworkService networkService;
     protected final Set<ProfileSettings> profileSettingsSet;
     protected final boolean rstOnClose;
+    private final boolean compressSameHost;
     private final Version version;
     private final CircuitBreakerService circuitBreakerService;
 
@@ -151,6 +152,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
         String nodeName = Node.NODE_NAME_SETTING.get(settings);
 
         this.rstOnClose = TransportSettings.RST_ON_CLOSE.get(settings);
+        this.compressSameHost = TransportSettings.TRANSPORT_COMPRESS_SAME_HOST.get(settings);
 
         this.recycler = createRecycler(settings, pageCacheRecycler);
         this.outboundHandler = new OutboundHandler(
@@ -177,6 +179,7 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
                 TransportRequestOptions.EMPTY,
                 v,
                 null,
+                false,
                 true
             ),
             ignoreDeserializationErrors
@@ -250,7 +253,11 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
                     typeMapping.put(type, handle);
             }
             version = handshakeVersion;
-            compress = connectionProfile.getCompressionEnabled();
+            if (compressSameHost == false && isSameHost(channels)) {
+                compress = Compression.Enabled.FALSE;
+            } else {
+                compress = connectionProfile.getCompressionEnabled();
+            }
             compressionScheme = connectionProfile.getCompressionScheme();
         }
 
@@ -305,18 +312,33 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
                 wrapped = request;
             }
 
-            final Compression.Scheme schemeToUse = getCompressionScheme(wrapped);
-            outboundHandler.sendRequest(node, channel, requestId, action, request, options, getVersion(), schemeToUse, false);
+            final Compression.Scheme schemeToUse = getCompressionScheme(action, wrapped);
+            // only the requests that adaptive compression chose to compress count towards its view of the action
+            final boolean adaptivelyCompressed = compress == Compression.Enabled.ADAPTIVE;
+            outboundHandler.sendRequest(
+                node,
+                channel,
+                requestId,
+                action,
+                request,
+                options,
+                getVersion(),
+                schemeToUse,
+                adaptivelyCompressed,
+                false
+            );
         }
 
-        private Compression.Scheme getCompressionScheme(TransportRequest request) {
-            // We compress if total transport compression is enabled or if indexing_data transport compression
+        private Compression.Scheme getCompressionScheme(String action, TransportRequest request) {
+            // We compress if total transport compression is enabled, if indexing_data transport compression
             // is enabled and the request is a RawIndexingDataTransportRequest which indicates it should be
-            // compressed.
+            // compressed, or if adaptive transport compression is enabled and has found compression worthwhile
+            // for this action.
             final boolean shouldCompress = compress == Compression.Enabled.TRUE
                 || (compress == Compression.Enabled.INDEXING_DATA
                     && request instanceof RawIndexingDataTransportRequest
-                    && ((RawIndexingDataTransportRequest) request).isRawIndexingData());
+                    && ((RawIndexingDataTransportRequest) request).isRawIndexingData())
+                || (compress == Compression.Enabled.ADAPTIVE && outboundHandler.getAdaptiveCompression().shouldCompress(action));
             return shouldCompress ? compressionScheme : null;
         }
 
@@ -340,6 +362,27 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
         return new BytesRefRecycler(pageCacheRecycler);
     }
 
+    /**
+     * Whether all the given channels connect this node to a node on the same host.
+     */
+    private static boolean isSameHost(List<TcpChannel> channels) {
+        for (TcpChannel channel : channels) {
+            final InetSocketAddress localAddress = channel.getLocalAddress();
+            final InetSocketAddress remoteAddress = channel.getRemoteAddress();
+            if (localAddress == null
+                || remoteAddress == null
+                || localAddress.getAddress() == null
+                || remoteAddress.getAddress() == null) {
+                return false;
+            }
+            if (remoteAddress.getAddress().isLoopbackAddress() == false
+                && remoteAddress.getAddress().equals(localAddress.getAddress()) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void openConnection(DiscoveryNode node, ConnectionProfile profile, ActionListener<Transport.Connection> listener) {
 
@@ -965,7 +1008,8 @@ public abstract class TcpTransport extends AbstractLifecycleComponent implements
             messagesSent,
             bytesWritten,
             networkService.getHandlingTimeTracker().getHistogram(),
-            outboundHandlingTimeTracker.getHistogram()
+            outboundHandlingTimeTracker.getHistogram(),
+            outboundHandler.getAdaptiveCompression().getStats()
         );
     }
 
@@ -40,6 +40,16 @@ public abstract class TransportMessage implements Writeable, RefCounted {
      */
     public TransportMessage(StreamInput in) {}
 
+    /**
+     * Returns whether this message holds a reference to every {@link org.elasticsearch.common.bytes.ReleasableBytesReference} that it
+     * writes, for as long as the message itself has references. If so, the transport layer may pass the content of large such
+     * references to the network as they are, without copying them, because it keeps a reference to the message until it has been sent.
+     * Messages that return {@code true} must not release or modify these bytes before their own last reference is released.
+     */
+    public boolean ownsWrittenReleasableBytes() {
+        return false;
+    }
+
     @Override
     public void incRef() {
         // noop, override to manage the life-cycle of resources held by a transport message
@@ -88,6 +88,12 @@ public final class TransportSettings {
         Compression.Scheme.LZ4,
         Setting.Property.NodeScope
     );
+    // whether to compress messages on connections to nodes on the same host, where compression costs CPU without saving any bandwidth
+    public static final Setting<Boolean> TRANSPORT_COMPRESS_SAME_HOST = boolSetting(
+        "transport.compress_same_host",
+        true,
+        Setting.Property.NodeScope
+    );
     // the scheduled internal ping interval setting, defaults to disabled (-1)
     public static final Setting<TimeValue> PING_SCHEDULE = timeSetting(
         "transport.ping_schedule",
@@ -15,10 +15,12 @@ import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
 
 public class TransportStats implements Writeable, ToXContentFragment {
 
@@ -30,6 +32,7 @@ public class TransportStats implements Writeable, ToXContentFragment {
     private final long txSize;
     private final long[] inboundHandlingTimeBucketFrequencies;
     private final long[] outboundHandlingTimeBucketFrequencies;
+    private final Map<String, AdaptiveCompressionStats> adaptiveCompressionStats;
 
     public TransportStats(
         long serverOpen,
@@ -40,6 +43,30 @@ public class TransportStats implements Writeable, ToXContentFragment {
         long txSize,
         long[] inboundHandlingTimeBucketFrequencies,
         long[] outboundHandlingTimeBucketFrequencies
+    ) {
+        this(
+            serverOpen,
+            totalOutboundConnections,
+            rxCount,
+            rxSize,
+            txCount,
+            txSize,
+            inboundHandlingTimeBucketFrequencies,
+            outboundHandlingTimeBucketFrequencies,
+            Map.of()
+        );
+    }
+
+    public TransportStats(
+        long serverOpen,
+        long totalOutboundConnections,
+        long rxCount,
+        long rxSize,
+        long txCount,
+        long txSize,
+        long[] inboundHandlingTimeBucketFrequencies,
+        long[] outboundHandlingTimeBucketFrequencies,
+        Map<String, AdaptiveCompressionStats> adaptiveCompressionStats
     ) {
         this.serverOpen = serverOpen;
         this.totalOutboundConnections = totalOutboundConnections;
@@ -49,6 +76,7 @@ public class TransportStats implements Writeable, ToXContentFragment {
         this.txSize = txSize;
         this.inboundHandlingTimeBucketFrequencies = inboundHandlingTimeBucketFrequencies;
         this.outboundHandlingTimeBucketFrequencies = outboundHandlingTimeBucketFrequencies;
+        this.adaptiveCompressionStats = adaptiveCompressionStats;
         assert assertHistogramsConsistent();
     }
 
@@ -72,6 +100,11 @@ public class TransportStats implements Writeable, ToXContentFragment {
             inboundHandlingTimeBucketFrequencies = new long[0];
             outboundHandlingTimeBucketFrequencies = new long[0];
         }
+        if (in.getVersion().onOrAfter(Version.V_8_4_0)) {
+            adaptiveCompressionStats = in.readImmutableMap(StreamInput::readString, AdaptiveCompressionStats::new);
+        } else {
+            adaptiveCompressionStats = Map.of();
+        }
         assert assertHistogramsConsistent();
     }
 
@@ -93,6 +126,9 @@ public class TransportStats implements Writeable, ToXContentFragment {
                 out.writeVLong(handlingTimeBucketFrequency);
             }
         }
+        if (out.getVersion().onOrAfter(Version.V_8_4_0)) {
+            out.writeMap(adaptiveCompressionStats, StreamOutput::writeString, (o, stats) -> stats.writeTo(o));
+        }
     }
 
     public long serverOpen() {
@@ -143,6 +179,13 @@ public class TransportStats implements Writeable, ToXContentFragment {
         return Arrays.copyOf(outboundHandlingTimeBucketFrequencies, outboundHandlingTimeBucketFrequencies.length);
     }
 
+    /**
+     * @return the state of adaptive compression for each action sent on connections with {@link Compression.Enabled#ADAPTIVE} compression
+     */
+    public Map<String, AdaptiveCompressionStats> getAdaptiveCompressionStats() {
+        return adaptiveCompressionStats;
+    }
+
     private boolean assertHistogramsConsistent() {
         assert inboundHandlingTimeBucketFrequencies.length == outboundHandlingTimeBucketFrequencies.length;
         if (inboundHandlingTimeBucketFrequencies.length == 0) {
@@ -170,6 +213,14 @@ public class TransportStats implements Writeable, ToXContentFragment {
             // Stats came from before v8.1
             assert Version.CURRENT.major == Version.V_8_0_0.major;
         }
+        if (adaptiveCompressionStats.isEmpty() == false) {
+            builder.startObject(Fields.ADAPTIVE_COMPRESSION);
+            for (Map.Entry<String, AdaptiveCompressionStats> entry : adaptiveCompressionStats.entrySet()) {
+                builder.field(entry.getKey());
+                entry.getValue().toXContent(builder, params);
+            }
+            builder.endObject();
+        }
         builder.endObject();
         return builder;
     }
@@ -204,5 +255,53 @@ public class TransportStats implements Writeable, ToXContentFragment {
         static final String TX_SIZE_IN_BYTES = "tx_size_in_bytes";
         static final String INBOUND_HANDLING_TIME_HISTOGRAM = "inbound_handling_time_histogram";
         static final String OUTBOUND_HANDLING_TIME_HISTOGRAM = "outbound_handling_time_histogram";
+        static final String ADAPTIVE_COMPRESSION = "adaptive_compression";
+    }
+
+    /**
+     * The state of adaptive compression for the requests for a single action.
+     *
+     * @param compressing whether requests for this action are currently being compressed
+     * @param compressedCount the number of requests which were compressed, including those compressed to measure the benefit
+     * @param uncompressedCount the number of requests which were sent uncompressed because compression was not worthwhile
+     * @param sampledSizeInBytes the total size of the compressed requests before compression
+     * @param sampledCompressedSizeInBytes the total size of the compressed requests after compression
+     */
+    public record AdaptiveCompressionStats(
+        boolean compressing,
+        long compressedCount,
+        long uncompressedCount,
+        long sampledSizeInBytes,
+        long sampledCompressedSizeInBytes
+    ) implements Writeable, ToXContentObject {
+
+        public AdaptiveCompressionStats(StreamInput in) throws IOException {
+            this(in.readBoolean(), in.readVLong(), in.readVLong(), in.readVLong(), in.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeBoolean(compressing);
+            out.writeVLong(compressedCount);
+            out.writeVLong(uncompressedCount);
+            out.writeVLong(sampledSizeInBytes);
+            out.writeVLong(sampledCompressedSizeInBytes);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("compressing", compressing);
+            builder.field("compressed_count", compressedCount);
+            builder.field("uncompressed_count", uncompressedCount);
+            builder.humanReadableField("sampled_size_in_bytes", "sampled_size", new ByteSizeValue(sampledSizeInBytes));
+            builder.humanReadableField(
+                "sampled_compressed_size_in_bytes",
+                "sampled_compressed_size",
+                new ByteSizeValue(sampledCompressedSizeInBytes)
+            );
+            builder.endObject();
+            return builder;
+        }
     }
 }
@@ -9,6 +9,7 @@
 package org.elasticsearch.action.admin.cluster.node.stats;
 
 import org.elasticsearch.cluster.coordination.ClusterStateSerializationStats;
+import org.elasticsearch.cluster.coordination.ClusterStatePersistenceStats;
 import org.elasticsearch.cluster.coordination.PendingClusterStateStats;
 import org.elasticsearch.cluster.coordination.PublishClusterStateStats;
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -249,6 +250,10 @@ public class NodeStatsTests extends ESTestCase {
                         nodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies(),
                         deserializedNodeStats.getTransport().getOutboundHandlingTimeBucketFrequencies()
                     );
+                    assertEquals(
+                        nodeStats.getTransport().getAdaptiveCompressionStats(),
+                        deserializedNodeStats.getTransport().getAdaptiveCompressionStats()
+                    );
                 }
                 if (nodeStats.getHttp() == null) {
                     assertNull(deserializedNodeStats.getHttp());
@@ -420,6 +425,8 @@ public class NodeStatsTests extends ESTestCase {
                             deserializedClusterStateUpdateStats.getFailedNotificationElapsedMillis()
                         );
                     }
+
+                    assertEquals(discoveryStats.getPersistenceStats(), deserializedDiscoveryStats.getPersistenceStats());
                 }
                 IngestStats ingestStats = nodeStats.getIngestStats();
                 IngestStats deserializedIngestStats = deserializedNodeStats.getIngestStats();
@@ -685,7 +692,21 @@ public class NodeStatsTests extends ESTestCase {
                 randomNonNegativeLong(),
                 randomNonNegativeLong(),
                 IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
-                IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray()
+                IntStream.range(0, HandlingTimeTracker.BUCKET_COUNT).mapToLong(i -> randomNonNegativeLong()).toArray(),
+                randomMap(
+                    0,
+                    5,
+                    () -> new Tuple<>(
+                        randomAlphaOfLength(10),
+                        new TransportStats.AdaptiveCompressionStats(
+                            randomBoolean(),
+                            randomNonNegativeLong(),
+                            randomNonNegativeLong(),
+                            randomNonNegativeLong(),
+                            randomNonNegativeLong()
+                        )
+                    )
+                )
             )
             : null;
         HttpStats httpStats = null;
@@ -788,7 +809,17 @@ public class NodeStatsTests extends ESTestCase {
                         randomNonNegativeLong()
                     )
                     : null,
-                timeTrackerStats
+                timeTrackerStats,
+                randomBoolean()
+                    ? new ClusterStatePersistenceStats(
+                        randomNonNegativeLong(),
+                        randomNonNegativeLong(),
+                        randomNonNegativeLong(),
+                        randomNonNegativeLong(),
+                        randomNonNegativeLong(),
+                        randomNonNegativeLong()
+                    )
+                    : null
             )
             : null;
         IngestStats ingestStats = null;
@@ -11,22 +11,33 @@ package org.elasticsearch.cluster.routing.allocation.allocator;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.support.replication.ClusterStateCreationUtils;
 import org.elasticsearch.cluster.ClusterInfo;
+import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.ESAllocationTestCase;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingNode;
 import org.elasticsearch.cluster.routing.RoutingNodes;
 import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.ShardRoutingState;
+import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.routing.allocation.AllocateUnassignedDecision;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
 import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 public class BalancedShardsAllocatorTests extends ESAllocationTestCase {
 
@@ -67,4 +78,73 @@ public class BalancedShardsAllocatorTests extends ESAllocationTestCase {
         assertNotNull(allocateDecision.getTargetNode().getId(), assignedShards.get(0).currentNodeId());
     }
 
+    public void testSkippingBalancedIndicesDoesNotChangeRebalancing() {
+        final int numNodes = between(3, 8);
+        final DiscoveryNodes.Builder nodes = DiscoveryNodes.builder();
+        for (int i = 0; i < numNodes; i++) {
+            nodes.add(newNode("node_" + i));
+        }
+
+        // the balanced indices have one shard on every node, and the others have all their shards on the first node, so that all other
+        // nodes have the same weight and the order in which the balancer considers them matters
+        final Metadata.Builder metadata = Metadata.builder();
+        final RoutingTable.Builder routingTable = RoutingTable.builder();
+        final int numIndices = between(2, 10);
+        for (int i = 0; i < numIndices; i++) {
+            final boolean balanced = i > 0 && randomBoolean();
+            final IndexMetadata indexMetadata = IndexMetadata.builder("index_" + i)
+                .settings(settings(Version.CURRENT))
+                .numberOfShards(balanced ? numNodes : between(2, 2 * numNodes))
+                .numberOfReplicas(0)
+                .build();
+            metadata.put(indexMetadata, false);
+            final IndexRoutingTable.Builder indexRoutingTable = IndexRoutingTable.builder(indexMetadata.getIndex());
+            for (int shard = 0; shard < indexMetadata.getNumberOfShards(); shard++) {
+                indexRoutingTable.addShard(
+                    TestShardRouting.newShardRouting(
+                        new ShardId(indexMetadata.getIndex(), shard),
+                        balanced ? "node_" + shard : "node_0",
+                        true,
+                        ShardRoutingState.STARTED
+                    )
+                );
+            }
+            routingTable.add(indexRoutingTable);
+        }
+        final ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .nodes(nodes)
+            .metadata(metadata)
+            .routingTable(routingTable)
+            .build();
+
+        final Settings settings = Settings.builder()
+            .put(BalancedShardsAllocator.SHARD_BALANCE_FACTOR_SETTING.getKey(), randomFrom(0.0f, 0.45f))
+            .build();
+        final ClusterSettings clusterSettings = new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        assertEquals(
+            rebalance(new BalancedShardsAllocator(settings, clusterSettings, false), clusterState),
+            rebalance(new BalancedShardsAllocator(settings, clusterSettings, true), clusterState)
+        );
+    }
+
+    private static Map<String, Set<String>> rebalance(BalancedShardsAllocator allocator, ClusterState clusterState) {
+        final RoutingAllocation allocation = new RoutingAllocation(
+            new AllocationDeciders(Collections.emptyList()),
+            RoutingNodes.mutable(clusterState.routingTable(), clusterState.nodes()),
+            clusterState,
+            ClusterInfo.EMPTY,
+            SnapshotShardSizeInfo.EMPTY,
+            System.nanoTime()
+        );
+        allocator.allocate(allocation);
+        final Map<String, Set<String>> shardsByNode = new TreeMap<>();
+        for (RoutingNode routingNode : allocation.routingNodes()) {
+            final Set<String> shards = new TreeSet<>();
+            for (ShardRouting shardRouting : routingNode) {
+                shards.add(shardRouting.shardId() + " " + shardRouting.state());
+            }
+            shardsByNode.put(routingNode.nodeId(), shards);
+        }
+        return shardsByNode;
+    }
 }
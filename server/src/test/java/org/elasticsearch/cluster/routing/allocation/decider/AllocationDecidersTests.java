@@ -26,6 +26,7 @@ import org.hamcrest.Matchers;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AllocationDecidersTests extends ESTestCase {
 
@@ -245,4 +246,73 @@ public class AllocationDecidersTests extends ESTestCase {
         assertEquals(expectedDebugDecision, allocationDeciders.canRebalance(allocation));
         assertEquals(expectedDebugDecision, allocationDeciders.canForceAllocatePrimary(shardRouting, routingNode, allocation));
     }
+
+    public void testIndexAndNodeScopedDecisionsAreCached() {
+        final AtomicInteger canAllocateCalls = new AtomicInteger();
+        final AtomicInteger canRemainCalls = new AtomicInteger();
+        final AllocationDeciders deciders = new AllocationDeciders(List.of(new AllocationDecider() {
+            @Override
+            public Decision canAllocate(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+                canAllocateCalls.incrementAndGet();
+                return Decision.NO;
+            }
+
+            @Override
+            public Decision canRemain(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
+                canRemainCalls.incrementAndGet();
+                return Decision.YES;
+            }
+
+            @Override
+            public boolean hasIndexAndNodeScopedDecisions(ShardRouting shardRouting) {
+                return true;
+            }
+        }));
+
+        final ClusterState clusterState = ClusterState.builder(new ClusterName("test")).build();
+        final UnassignedInfo unassignedInfo = new UnassignedInfo(UnassignedInfo.Reason.INDEX_CREATED, "_message");
+        final ShardRouting shard0 = ShardRouting.newUnassigned(
+            new ShardId("test", "testUUID", 0),
+            true,
+            RecoverySource.EmptyStoreRecoverySource.INSTANCE,
+            unassignedInfo
+        );
+        final ShardRouting shard1 = ShardRouting.newUnassigned(
+            new ShardId("test", "testUUID", 1),
+            true,
+            RecoverySource.EmptyStoreRecoverySource.INSTANCE,
+            unassignedInfo
+        );
+        final ShardRouting otherIndexShard = ShardRouting.newUnassigned(
+            new ShardId("other", "otherUUID", 0),
+            true,
+            RecoverySource.EmptyStoreRecoverySource.INSTANCE,
+            unassignedInfo
+        );
+        final RoutingNode node1 = RoutingNodesHelper.routingNode("node1", null);
+        final RoutingNode node2 = RoutingNodesHelper.routingNode("node2", null);
+
+        RoutingAllocation allocation = new RoutingAllocation(deciders, clusterState, null, null, 0L);
+        assertSame(Decision.NO, deciders.canAllocate(shard0, node1, allocation));
+        assertSame(Decision.NO, deciders.canAllocate(shard1, node1, allocation));
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(1));
+        deciders.canAllocate(shard0, node2, allocation);
+        deciders.canAllocate(otherIndexShard, node1, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(3));
+
+        assertSame(Decision.YES, deciders.canRemain(shard0, node1, allocation));
+        assertSame(Decision.YES, deciders.canRemain(shard1, node1, allocation));
+        assertThat(canRemainCalls.get(), Matchers.equalTo(1));
+
+        // the cache only lives as long as the allocation
+        allocation = new RoutingAllocation(deciders, clusterState, null, null, 0L);
+        deciders.canAllocate(shard0, node1, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(4));
+
+        // debug decisions are never cached
+        allocation.debugDecision(true);
+        deciders.canAllocate(shard0, node1, allocation);
+        deciders.canAllocate(shard1, node1, allocation);
+        assertThat(canAllocateCalls.get(), Matchers.equalTo(6));
+    }
 }
@@ -144,6 +144,31 @@ public class DiffableTests extends ESTestCase {
         }.execute();
     }
 
+    public void testEqualMapsProduceEmptyDiff() {
+        Map<Integer, TestDiffable> before = new HashMap<>();
+        ImmutableOpenMap.Builder<Integer, TestDiffable> beforeBuilder = ImmutableOpenMap.builder();
+        int size = randomIntBetween(0, 10);
+        for (int i = 0; i < size; i++) {
+            TestDiffable value = new TestDiffable(Integer.toString(i));
+            before.put(i, value);
+            beforeBuilder.put(i, value);
+        }
+        Map<Integer, TestDiffable> after = new HashMap<>(before);
+        ImmutableOpenMap<Integer, TestDiffable> beforeOpenMap = beforeBuilder.build();
+        ImmutableOpenMap<Integer, TestDiffable> afterOpenMap = ImmutableOpenMap.builder(beforeOpenMap).build();
+
+        assertEmpty(DiffableUtils.diff(before, after, DiffableUtils.getIntKeySerializer()));
+        assertEmpty(DiffableUtils.diff(before, after, DiffableUtils.getIntKeySerializer(), diffableValueSerializer()));
+        assertEmpty(DiffableUtils.diff(beforeOpenMap, afterOpenMap, DiffableUtils.getIntKeySerializer()));
+        assertEmpty(DiffableUtils.diff(beforeOpenMap, afterOpenMap, DiffableUtils.getIntKeySerializer(), diffableValueSerializer()));
+    }
+
+    private static void assertEmpty(MapDiff<?, ?, ?> diff) {
+        assertThat(diff.getDeletes(), empty());
+        assertThat(diff.getDiffs(), empty());
+        assertThat(diff.getUpserts(), empty());
+    }
+
     /**
      * Class that abstracts over specific map implementation type and value kind (Diffable or not)
      * @param <T> map type
@@ -8,11 +8,15 @@
 
 package org.elasticsearch.cluster.service;
 
+import org.elasticsearch.common.Priority;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.test.AbstractWireSerializingTestCase;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireSerializingTestCase<ClusterStateUpdateStats> {
 
@@ -42,17 +46,29 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
             randomNonNegativeLong(),
             randomNonNegativeLong(),
             randomNonNegativeLong(),
-            randomNonNegativeLong()
+            randomNonNegativeLong(),
+            randomQueueingStats()
         );
     }
 
+    private static Map<Priority, ClusterStateUpdateStats.QueueingStats> randomQueueingStats() {
+        final Map<Priority, ClusterStateUpdateStats.QueueingStats> queueingStats = new EnumMap<>(Priority.class);
+        for (Priority priority : randomSubsetOf(List.of(Priority.values()))) {
+            queueingStats.put(
+                priority,
+                new ClusterStateUpdateStats.QueueingStats(randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong())
+            );
+        }
+        return queueingStats;
+    }
+
     private static long not(long l) {
         return randomValueOtherThan(l, ESTestCase::randomNonNegativeLong);
     }
 
     @Override
     protected ClusterStateUpdateStats mutateInstance(ClusterStateUpdateStats instance) throws IOException {
-        switch (between(1, 19)) {
+        switch (between(1, 20)) {
             case 1:
                 return new ClusterStateUpdateStats(
                     not(instance.getUnchangedTaskCount()),
@@ -471,6 +487,29 @@ public class ClusterStateUpdateStatsWireSerializationTests extends AbstractWireS
                     instance.getFailedMasterApplyElapsedMillis(),
                     not(instance.getFailedNotificationElapsedMillis())
                 );
+            case 20:
+                return new ClusterStateUpdateStats(
+                    instance.getUnchangedTaskCount(),
+                    instance.getPublicationSuccessCount(),
+                    instance.getPublicationFailureCount(),
+                    instance.getUnchangedComputationElapsedMillis(),
+                    instance.getUnchangedNotificationElapsedMillis(),
+                    instance.getSuccessfulComputationElapsedMillis(),
+                    instance.getSuccessfulPublicationElapsedMillis(),
+                    instance.getSuccessfulContextConstructionElapsedMillis(),
+                    instance.getSuccessfulCommitElapsedMillis(),
+                    instance.getSuccessfulCompletionElapsedMillis(),
+                    instance.getSuccessfulMasterApplyElapsedMillis(),
+                    instance.getSuccessfulNotificationElapsedMillis(),
+                    instance.getFailedComputationElapsedMillis(),
+                    instance.getFailedPublicationElapsedMillis(),
+                    instance.getFailedContextConstructionElapsedMillis(),
+                    instance.getFailedCommitElapsedMillis(),
+                    instance.getFailedCompletionElapsedMillis(),
+                    instance.getFailedMasterApplyElapsedMillis(),
+                    instance.getFailedNotificationElapsedMillis(),
+                    randomValueOtherThan(instance.getQueueingStats(), ClusterStateUpdateStatsWireSerializationTests::randomQueueingStats)
+                );
         }
         throw new AssertionError("impossible");
     }
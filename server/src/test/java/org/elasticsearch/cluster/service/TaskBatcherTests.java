@@ -146,6 +146,40 @@ public class TaskBatcherTests extends TaskExecutorTests {
         assertThat(executionOrder, equalTo(Arrays.asList("A0", "A1", "A2", "B3", "B4", "A5", "A6")));
     }
 
+    public void testMaxBatchSizeLetsOtherExecutorsRun() throws InterruptedException {
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch allProcessed = new CountDownLatch(5);
+        final TestListener listener = new TestListener() {
+            @Override
+            public void onFailure(Exception e) {
+                throw new AssertionError(e);
+            }
+
+            @Override
+            public void processed() {
+                allProcessed.countDown();
+            }
+        };
+        final TestExecutor<String> executorA = tasks -> batches.add(List.copyOf(tasks));
+        final TestExecutor<String> executorB = tasks -> batches.add(List.copyOf(tasks));
+        final ClusterStateTaskConfig config = ClusterStateTaskConfig.build(Priority.NORMAL);
+
+        taskBatcher.setMaxBatchSize(2);
+        try (BlockingTask blockingTask = new BlockingTask(Priority.IMMEDIATE)) {
+            submitTask("blocking", blockingTask);
+            submitTask("A1", "A1", config, executorA, listener);
+            submitTask("B2", "B2", config, executorB, listener);
+            submitTask("A3", "A3", config, executorA, listener);
+            submitTask("A4", "A4", config, executorA, listener);
+            submitTask("A5", "A5", config, executorA, listener);
+        }
+
+        allProcessed.await();
+        // without a limit, A4 and A5 would have been executed with A1 and A3, ahead of B2
+        assertThat(batches, equalTo(List.of(List.of("A1", "A3"), List.of("B2"), List.of("A4", "A5"))));
+        assertTrue("expected empty map but was " + taskBatcher.tasksPerBatchingKey, taskBatcher.tasksPerBatchingKey.isEmpty());
+    }
+
     static class TaskExecutor implements TestExecutor<Integer> {
         List<Integer> tasks = new ArrayList<>();
 
@@ -38,6 +38,7 @@ import org.apache.lucene.util.Bits;
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.coordination.ClusterStatePersistenceStats;
 import org.elasticsearch.cluster.coordination.CoordinationMetadata;
 import org.elasticsearch.cluster.metadata.DataStream;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
@@ -1301,6 +1302,39 @@ public class PersistedClusterStateServiceTests extends ESTestCase {
         }
     }
 
+    public void testTracksWriteStats() throws IOException {
+        final AtomicLong currentTime = new AtomicLong(randomLongBetween(0L, Long.MAX_VALUE / 2));
+        final long writeDurationMillis = randomLongBetween(1L, 1000L);
+        final DiscoveryNode localNode = new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT);
+        final ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .nodes(DiscoveryNodes.builder().add(localNode).localNodeId(localNode.getId()))
+            .build();
+        final ClusterState newClusterState = ClusterState.builder(clusterState).version(clusterState.version() + 1).build();
+
+        try (NodeEnvironment nodeEnvironment = newNodeEnvironment(createDataPaths())) {
+            final PersistedClusterStateService persistedClusterStateService = new PersistedClusterStateService(
+                nodeEnvironment,
+                xContentRegistry(),
+                new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+                () -> currentTime.getAndAdd(writeDurationMillis)
+            );
+            assertThat(persistedClusterStateService.getStats(), equalTo(new ClusterStatePersistenceStats(0, 0, 0, 0, 0, 0)));
+
+            try (Writer writer = persistedClusterStateService.createWriter()) {
+                writer.writeFullStateAndCommit(0L, clusterState);
+                writer.writeIncrementalStateAndCommit(0L, clusterState, newClusterState);
+                writer.writeIncrementalTermUpdateAndCommit(1L, newClusterState.version(), Version.CURRENT);
+            }
+
+            final ClusterStatePersistenceStats stats = persistedClusterStateService.getStats();
+            assertThat(stats.fullWriteCount(), equalTo(1L));
+            assertThat(stats.fullWriteTimeMillis(), equalTo(writeDurationMillis));
+            assertThat(stats.incrementalWriteCount(), equalTo(1L));
+            assertThat(stats.incrementalWriteTimeMillis(), equalTo(writeDurationMillis));
+            assertThat(stats.commitCount(), equalTo(3L));
+        }
+    }
+
     public void testFailsIfCorrupt() throws IOException {
         try (NodeEnvironment nodeEnvironment = newNodeEnvironment(createDataPaths())) {
             final PersistedClusterStateService persistedClusterStateService = newPersistedClusterStateService(nodeEnvironment);
@@ -20,8 +20,10 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.ByteArray;
 import org.elasticsearch.common.util.MockBigArrays;
 import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestResponse;
@@ -38,6 +40,7 @@ import org.junit.Before;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.channels.ClosedChannelException;
 import java.util.Collections;
 import java.util.List;
@@ -166,6 +169,48 @@ public class DefaultRestChannelTests extends ESTestCase {
         assertEquals(resp.contentType(), headers.get(DefaultRestChannel.CONTENT_TYPE).get(0));
     }
 
+    public void testChunkedResponse() {
+        final boolean http10 = randomBoolean();
+        final TestHttpRequest httpRequest = new TestHttpRequest(
+            http10 ? HttpRequest.HttpVersion.HTTP_1_0 : HttpRequest.HttpVersion.HTTP_1_1,
+            RestRequest.Method.GET,
+            "/"
+        );
+        final RestRequest request = RestRequest.request(parserConfig(), httpRequest, httpChannel);
+        final DefaultRestChannel channel = new DefaultRestChannel(
+            httpChannel,
+            httpRequest,
+            request,
+            bigArrays,
+            HttpHandlingSettings.fromSettings(Settings.EMPTY),
+            threadPool.getThreadContext(),
+            CorsHandler.fromSettings(Settings.EMPTY),
+            null
+        );
+        final List<String> lines = randomList(1, 10, () -> randomAlphaOfLength(10) + "\n");
+        final ChunkedRestResponseBody body = ChunkedRestResponseBody.fromTextChunks(
+            RestResponse.TEXT_CONTENT_TYPE,
+            lines.stream().<CheckedConsumer<Writer, IOException>>map(line -> writer -> writer.write(line)).iterator()
+        );
+        channel.sendResponse(new RestResponse(RestStatus.OK, body));
+
+        final ArgumentCaptor<TestHttpResponse> responseCaptor = ArgumentCaptor.forClass(TestHttpResponse.class);
+        verify(httpChannel).sendResponse(responseCaptor.capture(), any());
+        final TestHttpResponse httpResponse = responseCaptor.getValue();
+        final Map<String, List<String>> headers = httpResponse.headers();
+        assertEquals(RestResponse.TEXT_CONTENT_TYPE, headers.get(DefaultRestChannel.CONTENT_TYPE).get(0));
+        if (http10) {
+            // HTTP/1.0 clients do not support chunked transfer encoding so they get the whole body at once
+            assertNull(httpResponse.chunkedContent());
+            assertThat(httpResponse.content().utf8ToString(), equalTo(String.join("", lines)));
+            assertEquals(Integer.toString(httpResponse.content().length()), headers.get(DefaultRestChannel.CONTENT_LENGTH).get(0));
+        } else {
+            assertSame(body, httpResponse.chunkedContent());
+            assertNull(httpResponse.content());
+            assertNull(headers.get(DefaultRestChannel.CONTENT_LENGTH));
+        }
+    }
+
     public void testCookiesSet() {
         Settings settings = Settings.builder().put(HttpTransportSettings.SETTING_HTTP_RESET_COOKIES.getKey(), true).build();
         final TestHttpRequest httpRequest = new TestHttpRequest(HttpRequest.HttpVersion.HTTP_1_1, RestRequest.Method.GET, "/");
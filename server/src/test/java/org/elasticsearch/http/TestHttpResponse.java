@@ -9,6 +9,7 @@
 package org.elasticsearch.http;
 
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestStatus;
 
 import java.util.ArrayList;
@@ -20,17 +21,29 @@ class TestHttpResponse implements HttpResponse {
 
     private final RestStatus status;
     private final BytesReference content;
+    private final ChunkedRestResponseBody chunkedContent;
     private final Map<String, List<String>> headers = new HashMap<>();
 
     TestHttpResponse(RestStatus status, BytesReference content) {
         this.status = status;
         this.content = content;
+        this.chunkedContent = null;
+    }
+
+    TestHttpResponse(RestStatus status, ChunkedRestResponseBody chunkedContent) {
+        this.status = status;
+        this.content = null;
+        this.chunkedContent = chunkedContent;
     }
 
     public BytesReference content() {
         return content;
     }
 
+    public ChunkedRestResponseBody chunkedContent() {
+        return chunkedContent;
+    }
+
     public RestStatus status() {
         return status;
     }
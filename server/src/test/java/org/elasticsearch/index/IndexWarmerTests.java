@@ -0,0 +1,203 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.fielddata.IndexFieldDataService;
+import org.elasticsearch.plugins.Plugin;
+import org.elasticsearch.plugins.ScriptPlugin;
+import org.elasticsearch.script.LongFieldScript;
+import org.elasticsearch.script.ScriptContext;
+import org.elasticsearch.script.ScriptEngine;
+import org.elasticsearch.search.lookup.SearchLookup;
+import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.test.ESSingleNodeTestCase;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertHitCount;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class IndexWarmerTests extends ESSingleNodeTestCase {
+
+    private static final AtomicInteger scriptExecutions = new AtomicInteger();
+    private static volatile CountDownLatch releaseScripts = new CountDownLatch(0);
+
+    @Override
+    protected Collection<Class<? extends Plugin>> getPlugins() {
+        return List.of(CountingScriptPlugin.class);
+    }
+
+    public void testMaterializeRuntimeFieldsInBackground() throws Exception {
+        scriptExecutions.set(0);
+        releaseScripts = new CountDownLatch(1);
+        try {
+            assertAcked(
+                client().admin()
+                    .indices()
+                    .prepareCreate("test")
+                    .setSettings(
+                        Settings.builder()
+                            .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+                            .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+                            .put(IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.getKey(), TimeValue.MINUS_ONE)
+                            .putList(IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING.getKey(), "materialized")
+                    )
+                    .setMapping(mapping())
+            );
+            final int numDocs = between(1, 10);
+            for (int i = 0; i < numDocs; i++) {
+                client().prepareIndex("test").setSource("number", i).get();
+            }
+
+            logger.info("--> refresh completes while the runtime field is still being materialized");
+            client().admin().indices().prepareRefresh("test").execute().actionGet(TimeValue.timeValueSeconds(30));
+            assertThat(scriptExecutions.get(), equalTo(0));
+
+            releaseScripts.countDown();
+            assertBusy(() -> assertThat(scriptExecutions.get(), equalTo(numDocs)));
+
+            logger.info("--> searches use the materialized values");
+            SearchResponse response = client().prepareSearch("test").addSort("materialized", SortOrder.ASC).get();
+            assertHitCount(response, numDocs);
+            assertThat(scriptExecutions.get(), equalTo(numDocs));
+        } finally {
+            releaseScripts.countDown();
+        }
+    }
+
+    public void testMaterializeOnlyCacheableRuntimeFields() throws Exception {
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> client().admin()
+                .indices()
+                .prepareCreate("invalid")
+                .setSettings(Settings.builder().putList(IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING.getKey(), "missing"))
+                .setMapping(mapping())
+                .get()
+        );
+        assertThat(e.getMessage(), containsString("[missing] is not one"));
+
+        assertAcked(client().admin().indices().prepareCreate("test").setMapping(mapping()));
+        for (String field : List.of("missing", "number")) {
+            e = expectThrows(
+                IllegalArgumentException.class,
+                () -> client().admin()
+                    .indices()
+                    .prepareUpdateSettings("test")
+                    .setSettings(Settings.builder().putList(IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING.getKey(), field))
+                    .get()
+            );
+            assertThat(e.getMessage(), containsString("[" + field + "] is not one"));
+        }
+        assertAcked(
+            client().admin()
+                .indices()
+                .prepareUpdateSettings("test")
+                .setSettings(
+                    Settings.builder().putList(IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING.getKey(), "materialized")
+                )
+        );
+    }
+
+    private static XContentBuilder mapping() throws IOException {
+        return XContentFactory.jsonBuilder()
+            .startObject()
+            .startObject("runtime")
+            .startObject("materialized")
+            .field("type", "long")
+            .startObject("script")
+            .field("lang", CountingScriptPlugin.LANG)
+            .field("source", "one")
+            .endObject()
+            .endObject()
+            .endObject()
+            .startObject("properties")
+            .startObject("number")
+            .field("type", "long")
+            .endObject()
+            .endObject()
+            .endObject();
+    }
+
+    /**
+     * Provides a deterministic long runtime field script that counts its executions and waits for {@link #releaseScripts}.
+     */
+    public static class CountingScriptPlugin extends Plugin implements ScriptPlugin {
+
+        static final String LANG = "counting";
+
+        @Override
+        public ScriptEngine getScriptEngine(Settings settings, Collection<ScriptContext<?>> contexts) {
+            return new ScriptEngine() {
+                @Override
+                public String getType() {
+                    return LANG;
+                }
+
+                @Override
+                public <FactoryType> FactoryType compile(
+                    String name,
+                    String code,
+                    ScriptContext<FactoryType> context,
+                    Map<String, String> params
+                ) {
+                    if (context.factoryClazz != LongFieldScript.Factory.class) {
+                        throw new IllegalArgumentException("unsupported context [" + context.name + "]");
+                    }
+                    return context.factoryClazz.cast(new LongFieldScript.Factory() {
+                        @Override
+                        public LongFieldScript.LeafFactory newFactory(
+                            String fieldName,
+                            Map<String, Object> scriptParams,
+                            SearchLookup searchLookup
+                        ) {
+                            return ctx -> new LongFieldScript(fieldName, scriptParams, searchLookup, ctx) {
+                                @Override
+                                public void execute() {
+                                    try {
+                                        assertTrue(releaseScripts.await(30, TimeUnit.SECONDS));
+                                    } catch (InterruptedException e) {
+                                        throw new AssertionError(e);
+                                    }
+                                    scriptExecutions.incrementAndGet();
+                                    emit(1L);
+                                }
+                            };
+                        }
+
+                        @Override
+                        public boolean isResultDeterministic() {
+                            return true;
+                        }
+                    });
+                }
+
+                @Override
+                public Set<ScriptContext<?>> getSupportedContexts() {
+                    return Set.of(LongFieldScript.CONTEXT);
+                }
+            };
+        }
+    }
+}
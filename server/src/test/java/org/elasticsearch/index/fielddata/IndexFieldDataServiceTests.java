@@ -24,6 +24,7 @@ import org.elasticsearch.Version;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.IndexService;
+import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.fielddata.plain.SortedDoublesIndexFieldData;
 import org.elasticsearch.index.fielddata.plain.SortedNumericIndexFieldData;
 import org.elasticsearch.index.fielddata.plain.SortedSetOrdinalsIndexFieldData;
@@ -31,11 +32,13 @@ import org.elasticsearch.index.mapper.BooleanFieldMapper;
 import org.elasticsearch.index.mapper.KeywordFieldMapper;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.MapperBuilderContext;
+import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.mapper.NumberFieldMapper;
 import org.elasticsearch.index.mapper.NumberFieldMapper.NumberType;
 import org.elasticsearch.index.mapper.TextFieldMapper;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.fielddata.cache.IndicesFieldDataCache;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.script.ScriptCompiler;
@@ -140,6 +143,90 @@ public class IndexFieldDataServiceTests extends ESSingleNodeTestCase {
         assertSame(searchLookup, searchLookupSetOnce.get().get());
     }
 
+    public void testGetForFieldRuntimeFieldCache() {
+        final boolean cacheEnabled = randomBoolean();
+        final IndexService indexService = createIndex(
+            "test",
+            Settings.builder().put(IndexFieldDataService.INDEX_RUNTIME_FIELDS_CACHE_SETTING.getKey(), cacheEnabled).build()
+        );
+        final IndicesService indicesService = getInstanceFromNode(IndicesService.class);
+        final IndexFieldDataService ifdService = new IndexFieldDataService(
+            indexService.getIndexSettings(),
+            indicesService.getIndicesFieldDataCache(),
+            indicesService.getCircuitBreakerService()
+        );
+        final MappingLookup.CacheKey mapping = indexService.mapperService().mappingLookup().cacheKey();
+        IndexFieldDataCache cache = runtimeFieldCache(ifdService, "field", "script", mapping);
+        if (cacheEnabled == false) {
+            assertNull(cache);
+            assertNull(runtimeFieldCache(ifdService, "field", null, mapping));
+            return;
+        }
+        assertNotNull(cache);
+        assertSame(cache, runtimeFieldCache(ifdService, "field", "script", mapping));
+        assertNotSame(cache, runtimeFieldCache(ifdService, "field", "other_script", mapping));
+        assertNotSame(cache, runtimeFieldCache(ifdService, "other_field", "script", mapping));
+        assertNull(runtimeFieldCache(ifdService, "field", null, mapping));
+        // not resolved against the current mappings, for instance because the search request defines runtime fields
+        assertNull(runtimeFieldCache(ifdService, "field", "script", null));
+
+        ifdService.clearField("field");
+        IndexFieldDataCache clearedCache = runtimeFieldCache(ifdService, "field", "script", mapping);
+        assertNotSame(cache, clearedCache);
+
+        // a mapping update drops the caches of all runtime fields since the fields their scripts read may have changed
+        final IndexFieldDataCache otherFieldCache = runtimeFieldCache(ifdService, "other_field", "script", mapping);
+        final MappingLookup.CacheKey updatedMapping = MappingLookup.EMPTY.cacheKey();
+        assertNotSame(clearedCache, runtimeFieldCache(ifdService, "field", "script", updatedMapping));
+        assertNotSame(otherFieldCache, runtimeFieldCache(ifdService, "other_field", "script", updatedMapping));
+        assertNotSame(otherFieldCache, runtimeFieldCache(ifdService, "other_field", "script", mapping));
+        ifdService.clear();
+    }
+
+    public void testGetForFieldMaterializedRuntimeField() {
+        // creating an index would validate that the materialized field is mapped
+        final IndexSettings indexSettings = IndexSettingsModule.newIndexSettings(
+            "test",
+            Settings.builder().putList(IndexFieldDataService.INDEX_RUNTIME_FIELDS_MATERIALIZE_SETTING.getKey(), "materialized").build()
+        );
+        final IndicesService indicesService = getInstanceFromNode(IndicesService.class);
+        final IndexFieldDataService ifdService = new IndexFieldDataService(
+            indexSettings,
+            indicesService.getIndicesFieldDataCache(),
+            indicesService.getCircuitBreakerService()
+        );
+        final MappingLookup.CacheKey mapping = MappingLookup.EMPTY.cacheKey();
+        assertNotNull(runtimeFieldCache(ifdService, "materialized", "script", mapping));
+        assertNull(runtimeFieldCache(ifdService, "materialized", null, mapping));
+        assertNull(runtimeFieldCache(ifdService, "field", "script", mapping));
+        ifdService.clear();
+    }
+
+    private static IndexFieldDataCache runtimeFieldCache(
+        IndexFieldDataService ifdService,
+        String fieldName,
+        Object resultsCacheKey,
+        MappingLookup.CacheKey mapping
+    ) {
+        final SetOnce<IndexFieldDataCache> cacheSetOnce = new SetOnce<>();
+        MappedFieldType ft = mock(MappedFieldType.class);
+        when(ft.name()).thenReturn(fieldName);
+        when(ft.fielddataBuilder(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(new IndexFieldData.ScriptBuilder() {
+            @Override
+            public Object resultsCacheKey() {
+                return resultsCacheKey;
+            }
+
+            @Override
+            public IndexFieldData<?> build(IndexFieldDataCache cache, CircuitBreakerService breakerService) {
+                cacheSetOnce.set(cache);
+                return null;
+            }
+        });
+        ifdService.getForField(ft, "qualified", () -> { throw new UnsupportedOperationException(); }, mapping);
+        return cacheSetOnce.get();
+    }
+
     public void testClearField() throws Exception {
         final IndexService indexService = createIndex("test");
         final IndicesService indicesService = getInstanceFromNode(IndicesService.class);
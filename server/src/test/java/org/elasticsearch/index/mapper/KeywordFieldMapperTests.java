@@ -53,7 +53,9 @@ import java.util.stream.Collectors;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.apache.lucene.tests.analysis.BaseTokenStreamTestCase.assertTokenStreamContents;
+import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
@@ -621,6 +623,41 @@ public class KeywordFieldMapperTests extends MapperTestCase {
         assertThat(e.getCause().getMessage(), containsString("UTF8 encoding is longer than the max length"));
     }
 
+    public void testSyntheticSourceIgnoreAbove() throws IOException {
+        DocumentMapper mapper = createDocumentMapper(
+            syntheticSourceMapping(b -> b.startObject("field").field("type", "keyword").field("ignore_above", 5).endObject())
+        );
+        assertThat(syntheticSource(mapper, b -> b.field("field", "short")), equalTo("{\"field\":\"short\"}"));
+        assertThat(syntheticSource(mapper, b -> b.field("field", "too long")), equalTo("{\"field\":\"too long\"}"));
+        assertThat(
+            syntheticSource(mapper, b -> b.array("field", "too long", "b", "a", "longer still")),
+            equalTo("{\"field\":[\"a\",\"b\",\"too long\",\"longer still\"]}")
+        );
+    }
+
+    public void testIgnoreAboveStoresOriginalOnlyWithSyntheticSource() throws IOException {
+        DocumentMapper stored = createDocumentMapper(fieldMapping(b -> b.field("type", "keyword").field("ignore_above", 5)));
+        ParsedDocument doc = stored.parse(source(b -> b.field("field", "too long")));
+        assertThat(doc.rootDoc().getFields("field._original"), emptyArray());
+
+        DocumentMapper synthetic = createDocumentMapper(
+            syntheticSourceMapping(b -> b.startObject("field").field("type", "keyword").field("ignore_above", 5).endObject())
+        );
+        doc = synthetic.parse(source(b -> b.field("field", "too long")));
+        IndexableField[] fields = doc.rootDoc().getFields("field._original");
+        assertThat(fields, arrayWithSize(1));
+        assertThat(fields[0].binaryValue(), equalTo(new BytesRef("too long")));
+        assertThat(doc.rootDoc().getFields("field"), emptyArray());
+    }
+
+    public void testOriginalIsReservedSubFieldName() {
+        MapperParsingException e = expectThrows(MapperParsingException.class, () -> createMapperService(fieldMapping(b -> {
+            b.field("type", "keyword").field("ignore_above", 5);
+            b.startObject("fields").startObject("_original").field("type", "keyword").endObject().endObject();
+        })));
+        assertThat(e.getMessage(), containsString("Cannot use reserved field name [field._original]"));
+    }
+
     @Override
     protected SyntheticSourceSupport syntheticSourceSupport() {
         return new KeywordSyntheticSourceSupport();
@@ -664,10 +701,6 @@ public class KeywordFieldMapperTests extends MapperTestCase {
                     equalTo("field [field] of type [keyword] doesn't support synthetic source because it doesn't have doc values"),
                     b -> b.field("type", "keyword").field("doc_values", false)
                 ),
-                new SyntheticSourceInvalidExample(
-                    equalTo("field [field] of type [keyword] doesn't support synthetic source because it declares ignore_above"),
-                    b -> b.field("type", "keyword").field("ignore_above", 10)
-                ),
                 new SyntheticSourceInvalidExample(
                     equalTo("field [field] of type [keyword] doesn't support synthetic source because it declares a normalizer"),
                     b -> b.field("type", "keyword").field("normalizer", "lowercase")
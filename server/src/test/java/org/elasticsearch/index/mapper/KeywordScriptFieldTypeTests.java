@@ -29,11 +29,14 @@ import org.elasticsearch.Version;
 import org.elasticsearch.common.lucene.search.function.ScriptScoreQuery;
 import org.elasticsearch.common.unit.Fuzziness;
 import org.elasticsearch.index.fielddata.BinaryScriptFieldData;
+import org.elasticsearch.index.fielddata.IndexFieldDataCache;
+import org.elasticsearch.index.fielddata.LeafFieldData;
 import org.elasticsearch.index.fielddata.ScriptDocValues;
 import org.elasticsearch.index.fielddata.SortedBinaryDocValues;
 import org.elasticsearch.index.fielddata.StringScriptFieldData;
 import org.elasticsearch.index.query.MatchQueryBuilder;
 import org.elasticsearch.index.query.SearchExecutionContext;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.script.DocReader;
 import org.elasticsearch.script.ScoreScript;
 import org.elasticsearch.script.Script;
@@ -48,6 +51,7 @@ import java.util.Map;
 
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class KeywordScriptFieldTypeTests extends AbstractScriptFieldTypeTestCase {
 
@@ -90,6 +94,33 @@ public class KeywordScriptFieldTypeTests extends AbstractScriptFieldTypeTestCase
         }
     }
 
+    public void testCachedDocValues() throws IOException {
+        try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+            iw.addDocument(List.of(new StoredField("_source", new BytesRef("{\"foo\": [1]}"))));
+            iw.addDocument(List.of(new StoredField("_source", new BytesRef("{\"foo\": []}"))));
+            iw.addDocument(List.of(new StoredField("_source", new BytesRef("{\"foo\": [2, 1]}"))));
+            List<String> results = new ArrayList<>();
+            try (DirectoryReader reader = iw.getReader()) {
+                KeywordScriptFieldType ft = build("append_param", Map.of("param", "-suffix"));
+                StringScriptFieldData ifd = ft.fielddataBuilder("test", mockContext()::lookup)
+                    .build(new IndexFieldDataCache.None(), new NoneCircuitBreakerService());
+                for (LeafReaderContext context : reader.leaves()) {
+                    LeafFieldData leafFieldData = ifd.load(context);
+                    assertThat(leafFieldData.ramBytesUsed(), greaterThan(0L));
+                    SortedBinaryDocValues dv = leafFieldData.getBytesValues();
+                    for (int doc = 0; doc < context.reader().maxDoc(); doc++) {
+                        if (dv.advanceExact(doc)) {
+                            for (int i = 0; i < dv.docValueCount(); i++) {
+                                results.add(dv.nextValue().utf8ToString());
+                            }
+                        }
+                    }
+                }
+                assertThat(results, equalTo(List.of("1-suffix", "1-suffix", "2-suffix")));
+            }
+        }
+    }
+
     @Override
     public void testSort() throws IOException {
         try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
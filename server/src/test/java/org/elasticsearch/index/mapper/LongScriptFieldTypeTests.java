@@ -29,9 +29,12 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.geo.ShapeRelation;
 import org.elasticsearch.common.lucene.search.function.ScriptScoreQuery;
+import org.elasticsearch.index.fielddata.IndexFieldDataCache;
+import org.elasticsearch.index.fielddata.LeafNumericFieldData;
 import org.elasticsearch.index.fielddata.LongScriptFieldData;
 import org.elasticsearch.index.fielddata.ScriptDocValues;
 import org.elasticsearch.index.query.SearchExecutionContext;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
 import org.elasticsearch.script.DocReader;
 import org.elasticsearch.script.LongFieldScript;
 import org.elasticsearch.script.ScoreScript;
@@ -107,6 +110,33 @@ public class LongScriptFieldTypeTests extends AbstractNonTextScriptFieldTypeTest
         }
     }
 
+    public void testCachedDocValues() throws IOException {
+        try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+            iw.addDocument(List.of(new StoredField("_source", new BytesRef("{\"foo\": [1]}"))));
+            iw.addDocument(List.of(new StoredField("_source", new BytesRef("{\"foo\": []}"))));
+            iw.addDocument(List.of(new StoredField("_source", new BytesRef("{\"foo\": [2, 1]}"))));
+            List<Long> results = new ArrayList<>();
+            try (DirectoryReader reader = iw.getReader()) {
+                LongScriptFieldType ft = build("add_param", Map.of("param", 1));
+                LongScriptFieldData ifd = ft.fielddataBuilder("test", mockContext()::lookup)
+                    .build(new IndexFieldDataCache.None(), new NoneCircuitBreakerService());
+                for (LeafReaderContext context : reader.leaves()) {
+                    LeafNumericFieldData leafFieldData = ifd.load(context);
+                    assertThat(leafFieldData.ramBytesUsed(), greaterThan(0L));
+                    SortedNumericDocValues dv = leafFieldData.getLongValues();
+                    for (int doc = 0; doc < context.reader().maxDoc(); doc++) {
+                        if (dv.advanceExact(doc)) {
+                            for (int i = 0; i < dv.docValueCount(); i++) {
+                                results.add(dv.nextValue());
+                            }
+                        }
+                    }
+                }
+                assertThat(results, equalTo(List.of(2L, 2L, 3L)));
+            }
+        }
+    }
+
     @Override
     public void testSort() throws IOException {
         try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
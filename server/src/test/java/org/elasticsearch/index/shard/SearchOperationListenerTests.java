@@ -7,9 +7,15 @@
  */
 package org.elasticsearch.index.shard;
 
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.core.Releasable;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.search.internal.ReaderContext;
 import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.TestSearchContext;
 import org.elasticsearch.transport.TransportRequest;
@@ -293,4 +299,58 @@ public class SearchOperationListenerTests extends ESTestCase {
         assertEquals(2, freeScrollContext.get());
         assertEquals(2, validateSearchContext.get());
     }
+
+    public void testQueryPhaseIsAdmittedByAllListeners() {
+        final AtomicInteger admitted = new AtomicInteger();
+        final AtomicInteger released = new AtomicInteger();
+        final List<ActionListener<Releasable>> pendingAdmissions = new ArrayList<>();
+        final SearchOperationListener admittingListener = new SearchOperationListener() {
+            @Override
+            public void admitQueryPhase(
+                IndexShard indexShard,
+                ShardSearchRequest request,
+                SearchShardTask task,
+                ActionListener<Releasable> listener
+            ) {
+                admitted.incrementAndGet();
+                listener.onResponse(released::incrementAndGet);
+            }
+        };
+        final SearchOperationListener waitingListener = new SearchOperationListener() {
+            @Override
+            public void admitQueryPhase(
+                IndexShard indexShard,
+                ShardSearchRequest request,
+                SearchShardTask task,
+                ActionListener<Releasable> listener
+            ) {
+                pendingAdmissions.add(listener);
+            }
+        };
+        final SearchOperationListener.CompositeListener compositeListener = new SearchOperationListener.CompositeListener(
+            List.of(admittingListener, waitingListener, admittingListener),
+            logger
+        );
+
+        final PlainActionFuture<Releasable> admission = PlainActionFuture.newFuture();
+        compositeListener.admitQueryPhase(null, null, null, admission);
+        assertFalse(admission.isDone());
+        assertEquals(1, admitted.get());
+        assertEquals(1, pendingAdmissions.size());
+
+        pendingAdmissions.remove(0).onResponse(released::incrementAndGet);
+        assertTrue(admission.isDone());
+        assertEquals(2, admitted.get());
+        assertEquals(0, released.get());
+        admission.actionGet().close();
+        assertEquals(3, released.get());
+
+        // the admissions obtained so far are released if a listener fails
+        final PlainActionFuture<Releasable> failedAdmission = PlainActionFuture.newFuture();
+        compositeListener.admitQueryPhase(null, null, null, failedAdmission);
+        pendingAdmissions.remove(0).onFailure(new ElasticsearchException("simulated"));
+        assertEquals("simulated", expectThrows(ElasticsearchException.class, failedAdmission::actionGet).getMessage());
+        assertEquals(3, admitted.get());
+        assertEquals(4, released.get());
+    }
 }
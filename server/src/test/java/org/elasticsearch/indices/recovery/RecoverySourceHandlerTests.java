@@ -116,10 +116,13 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static org.elasticsearch.index.seqno.SequenceNumbers.UNASSIGNED_SEQ_NO;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -206,6 +209,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             request,
             Math.toIntExact(recoverySettings.getChunkSize().getBytes()),
             between(1, 5),
+            between(1, 4),
             between(1, 5),
             between(1, 5),
             false,
@@ -292,6 +296,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             request,
             fileChunkSizeInBytes,
             between(1, 10),
+            between(1, 4),
             between(1, 10),
             between(1, 10),
             false,
@@ -357,6 +362,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             request,
             fileChunkSizeInBytes,
             between(1, 10),
+            between(1, 4),
             between(1, 10),
             between(1, 10),
             false,
@@ -434,6 +440,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             getStartRecoveryRequest(),
             between(1, 10 * 1024),
             between(1, 5),
+            between(1, 4),
             between(1, 5),
             between(1, 5),
             false,
@@ -592,6 +599,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             request,
             Math.toIntExact(recoverySettings.getChunkSize().getBytes()),
             between(1, 8),
+            between(1, 4),
             between(1, 8),
             between(1, 8),
             false,
@@ -670,6 +678,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             between(1, 10),
             between(1, 4),
             between(1, 4),
+            between(1, 4),
             false,
             recoveryPlannerService
         ) {
@@ -731,6 +740,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             request,
             Math.toIntExact(recoverySettings.getChunkSize().getBytes()),
             between(1, 8),
+            between(1, 4),
             between(1, 8),
             between(1, 5),
             false,
@@ -841,6 +851,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             getStartRecoveryRequest(),
             chunkSize,
             maxConcurrentChunks,
+            1,
             between(1, 10),
             between(1, 5),
             false,
@@ -917,6 +928,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             getStartRecoveryRequest(),
             chunkSize,
             maxConcurrentChunks,
+            1,
             between(1, 5),
             between(1, 5),
             false,
@@ -956,6 +968,69 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
         store.close();
     }
 
+    public void testSendFilesConcurrently() throws Exception {
+        final List<FileChunkResponse> unrepliedChunks = new CopyOnWriteArrayList<>();
+        final Set<String> filesInFlight = ConcurrentCollections.newConcurrentSet();
+        final Set<String> completedFiles = ConcurrentCollections.newConcurrentSet();
+        final TestRecoveryTargetHandler recoveryTarget = new TestRecoveryTargetHandler() {
+            final AtomicLong chunkNumberGenerator = new AtomicLong();
+
+            @Override
+            public void writeFileChunk(
+                StoreFileMetadata md,
+                long position,
+                ReleasableBytesReference content,
+                boolean lastChunk,
+                int totalTranslogOps,
+                ActionListener<Void> listener
+            ) {
+                assertFalse("file [" + md.name() + "] was already sent", completedFiles.contains(md.name()));
+                filesInFlight.add(md.name());
+                unrepliedChunks.add(new FileChunkResponse(chunkNumberGenerator.getAndIncrement(), ActionListener.runBefore(listener, () -> {
+                    if (lastChunk) {
+                        filesInFlight.remove(md.name());
+                        completedFiles.add(md.name());
+                    }
+                })));
+            }
+        };
+        final int maxConcurrentFiles = between(2, 4);
+        final int chunkSize = between(1, 16);
+        final RecoverySourceHandler handler = new RecoverySourceHandler(
+            null,
+            new AsyncRecoveryTarget(recoveryTarget, recoveryExecutor),
+            threadPool,
+            getStartRecoveryRequest(),
+            chunkSize,
+            1,
+            maxConcurrentFiles,
+            between(1, 5),
+            between(1, 5),
+            false,
+            recoveryPlannerService
+        );
+        Store store = newStore(createTempDir(), false);
+        List<StoreFileMetadata> files = generateFiles(store, between(1, 10), () -> between(1, chunkSize * 20));
+        PlainActionFuture<Void> sendFilesFuture = new PlainActionFuture<>();
+        handler.sendFiles(store, files.toArray(new StoreFileMetadata[0]), () -> 0, sendFilesFuture);
+        assertBusy(() -> assertThat(unrepliedChunks, hasSize(Math.min(maxConcurrentFiles, files.size()))));
+        while (completedFiles.size() < files.size()) {
+            assertBusy(() -> {
+                assertThat(unrepliedChunks, not(empty()));
+                // every stream has a single chunk in flight, so each outstanding chunk belongs to a different file
+                assertThat(unrepliedChunks.size(), lessThanOrEqualTo(maxConcurrentFiles));
+                assertThat(filesInFlight, hasSize(unrepliedChunks.size()));
+            });
+            final FileChunkResponse chunk = randomFrom(unrepliedChunks);
+            unrepliedChunks.remove(chunk);
+            chunk.listener.onResponse(null);
+        }
+        sendFilesFuture.actionGet();
+        assertThat(unrepliedChunks, empty());
+        assertThat(completedFiles, hasSize(files.size()));
+        store.close();
+    }
+
     public void testCancelRecoveryDuringPhase1() throws Exception {
         Store store = newStore(createTempDir("source"), false);
         IndexShard shard = mock(IndexShard.class);
@@ -1030,6 +1105,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             between(1, 4),
             between(1, 4),
             between(1, 4),
+            between(1, 4),
             false,
             recoveryPlannerService
         ) {
@@ -1072,6 +1148,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
             between(1, 4),
             between(1, 4),
             between(1, 4),
+            between(1, 4),
             false,
             recoveryPlannerService
         );
@@ -1132,6 +1209,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
                 between(1, 4),
                 between(1, 4),
                 between(1, 4),
+                between(1, 4),
                 true,
                 recoveryPlannerService
             ) {
@@ -1238,6 +1316,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
                 between(1, 4),
                 between(1, 4),
                 between(1, 4),
+                between(1, 4),
                 true,
                 recoveryPlannerService
             ) {
@@ -1305,6 +1384,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
                 between(1, 16),
                 between(1, 4),
                 between(1, 4),
+                between(1, 4),
                 maxConcurrentSnapshotFileDownloads,
                 true,
                 null
@@ -1397,6 +1477,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
                 between(1, 16),
                 between(1, 4),
                 between(1, 4),
+                between(1, 4),
                 maxConcurrentSnapshotFileDownloads,
                 true,
                 null
@@ -1468,6 +1549,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
                 between(1, 16),
                 between(1, 4),
                 between(1, 4),
+                between(1, 4),
                 maxConcurrentSnapshotFileDownloads,
                 true,
                 null
@@ -1623,6 +1705,7 @@ public class RecoverySourceHandlerTests extends MapperServiceTestCase {
                 between(1, 16),
                 between(1, 4),
                 between(1, 4),
+                between(1, 4),
                 maxConcurrentSnapshotFileDownloads,
                 true,
                 null
@@ -117,7 +117,8 @@ public class CustomUnifiedHighlighterTests extends ESTestCase {
                     expectedPassages.length,
                     name -> "text".equals(name),
                     maxAnalyzedOffset,
-                    queryMaxAnalyzedOffset
+                    queryMaxAnalyzedOffset,
+                    randomBoolean()
                 );
                 final Snippet[] snippets = highlighter.highlightField(getOnlyLeafReader(reader), topDocs.scoreDocs[0].doc, () -> rawValue);
                 assertEquals(snippets.length, expectedPassages.length);
@@ -394,4 +395,47 @@ public class CustomUnifiedHighlighterTests extends ESTestCase {
             10
         );
     }
+
+    public void testSkipUnmatchedDocs() throws Exception {
+        try (Directory dir = newDirectory()) {
+            RandomIndexWriter iw = new RandomIndexWriter(random(), dir, newIndexWriterConfig(new StandardAnalyzer()));
+            Document doc = new Document();
+            doc.add(new TextField("text", "This is a test. Just a test highlighting from unified.", Field.Store.NO));
+            iw.addDocument(doc);
+            try (DirectoryReader reader = iw.getReader()) {
+                IndexSearcher searcher = newSearcher(reader);
+                iw.close();
+                // the postings show that the document doesn't contain the term so it must never be analyzed
+                Analyzer analyzer = new Analyzer() {
+                    @Override
+                    protected TokenStreamComponents createComponents(String fieldName) {
+                        throw new AssertionError("the field value should not be analyzed");
+                    }
+                };
+                CustomUnifiedHighlighter highlighter = new CustomUnifiedHighlighter(
+                    searcher,
+                    analyzer,
+                    UnifiedHighlighter.OffsetSource.ANALYSIS,
+                    new CustomPassageFormatter("<b>", "</b>", new DefaultEncoder()),
+                    Locale.ROOT,
+                    BreakIterator.getSentenceInstance(Locale.ROOT),
+                    "index",
+                    "text",
+                    new TermQuery(new Term("text", "missing")),
+                    0,
+                    1,
+                    name -> "text".equals(name),
+                    Integer.MAX_VALUE,
+                    null,
+                    true
+                );
+                Snippet[] snippets = highlighter.highlightField(
+                    getOnlyLeafReader(reader),
+                    0,
+                    () -> "This is a test. Just a test highlighting from unified."
+                );
+                assertEquals(0, snippets.length);
+            }
+        }
+    }
 }
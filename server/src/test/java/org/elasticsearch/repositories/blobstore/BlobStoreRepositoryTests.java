@@ -17,6 +17,9 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.Numbers;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.blobstore.BlobContainer;
+import org.elasticsearch.common.blobstore.DeleteResult;
+import org.elasticsearch.common.blobstore.support.FilterBlobContainer;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeUnit;
@@ -34,18 +37,25 @@ import org.elasticsearch.repositories.ShardGeneration;
 import org.elasticsearch.repositories.ShardGenerations;
 import org.elasticsearch.repositories.fs.FsRepository;
 import org.elasticsearch.snapshots.SnapshotId;
+import org.elasticsearch.snapshots.SnapshotInfo;
+import org.elasticsearch.snapshots.SnapshotMissingException;
 import org.elasticsearch.snapshots.SnapshotState;
 import org.elasticsearch.test.ESIntegTestCase;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -149,6 +159,119 @@ public class BlobStoreRepositoryTests extends ESSingleNodeTestCase {
         assertThat(snapshotIds, equalTo(originalSnapshots));
     }
 
+    public void testSnapshotInfoCache() throws Exception {
+        final Client client = client();
+        final Path location = ESIntegTestCase.randomRepoPath(node().settings());
+        final String repositoryName = "test-repo";
+        final boolean cacheEnabled = randomBoolean();
+
+        AcknowledgedResponse putRepositoryResponse = client.admin()
+            .cluster()
+            .preparePutRepository(repositoryName)
+            .setType(REPO_TYPE)
+            .setSettings(
+                Settings.builder()
+                    .put(node().settings())
+                    .put("location", location)
+                    .put(BlobStoreRepository.SNAPSHOT_INFO_CACHE_MAX_INDICES_SETTING.getKey(), cacheEnabled ? between(10, 100) : 0)
+            )
+            .get();
+        assertThat(putRepositoryResponse.isAcknowledged(), equalTo(true));
+
+        final String indexName = "test-idx";
+        createIndex(indexName);
+        ensureGreen();
+        final SnapshotId snapshotId = client.admin()
+            .cluster()
+            .prepareCreateSnapshot(repositoryName, "test-snap")
+            .setWaitForCompletion(true)
+            .setIndices(indexName)
+            .get()
+            .getSnapshotInfo()
+            .snapshotId();
+
+        final RepositoriesService repositoriesService = getInstanceFromNode(RepositoriesService.class);
+        final BlobStoreRepository repository = (BlobStoreRepository) repositoriesService.repository(repositoryName);
+        final SnapshotInfo snapshotInfo = PlainActionFuture.get(f -> repository.getSnapshotInfo(snapshotId, f));
+        assertThat(snapshotInfo.snapshotId(), equalTo(snapshotId));
+
+        logger.info("--> delete the snapshot info blob behind the repository's back");
+        Files.delete(location.resolve(BlobStoreRepository.SNAPSHOT_FORMAT.blobName(snapshotId.getUUID())));
+        if (cacheEnabled) {
+            assertThat(PlainActionFuture.get(f -> repository.getSnapshotInfo(snapshotId, f)), equalTo(snapshotInfo));
+        } else {
+            expectThrows(SnapshotMissingException.class, () -> PlainActionFuture.get(f -> repository.getSnapshotInfo(snapshotId, f)));
+        }
+
+        logger.info("--> deleting the snapshot drops it from the cache");
+        assertAcked(client.admin().cluster().prepareDeleteSnapshot(repositoryName, "test-snap").get());
+        expectThrows(SnapshotMissingException.class, () -> PlainActionFuture.get(f -> repository.getSnapshotInfo(snapshotId, f)));
+    }
+
+    public void testCleanupStaleIndices() throws Exception {
+        final BlobStoreRepository repository = setupRepo();
+        final BlobContainer indicesContainer = repository.blobStore().blobContainer(repository.basePath().add("indices"));
+
+        final Map<String, BlobContainer> foundIndices = new HashMap<>();
+        final Set<String> survivingIndexIds = new HashSet<>();
+        final Set<String> staleIndexIds = new HashSet<>();
+        long expectedBlobsDeleted = 0L;
+        long expectedBytesDeleted = 0L;
+        final int indexCount = between(2, 20);
+        for (int i = 0; i < indexCount; i++) {
+            final String indexId = UUIDs.randomBase64UUID(random());
+            final BlobContainer indexContainer = childContainer(repository, indexId);
+            final int blobCount = between(1, 5);
+            long bytes = 0L;
+            for (int j = 0; j < blobCount; j++) {
+                final byte[] content = randomByteArrayOfLength(between(1, 1024));
+                indexContainer.writeBlob("blob-" + j, new BytesArray(content), true);
+                bytes += content.length;
+            }
+            foundIndices.put(indexId, indexContainer);
+            if (i == 0 || randomBoolean()) {
+                staleIndexIds.add(indexId);
+                expectedBlobsDeleted += blobCount;
+                expectedBytesDeleted += bytes;
+            } else {
+                survivingIndexIds.add(indexId);
+            }
+        }
+
+        logger.info("--> fail to delete one more stale index folder");
+        final String failingIndexId = UUIDs.randomBase64UUID(random());
+        final BlobContainer failingContainer = childContainer(repository, failingIndexId);
+        failingContainer.writeBlob("blob", new BytesArray(randomByteArrayOfLength(between(1, 1024))), true);
+        foundIndices.put(failingIndexId, new FilterBlobContainer(failingContainer) {
+            @Override
+            protected BlobContainer wrapChild(BlobContainer child) {
+                return child;
+            }
+
+            @Override
+            public DeleteResult delete() throws IOException {
+                throw new IOException("simulated");
+            }
+        });
+
+        final DeleteResult deleteResult = PlainActionFuture.get(f -> repository.cleanupStaleIndices(foundIndices, survivingIndexIds, f));
+        assertEquals(expectedBlobsDeleted, deleteResult.blobsDeleted());
+        assertEquals(expectedBytesDeleted, deleteResult.bytesDeleted());
+
+        final Set<String> remainingIndexIds = indicesContainer.children().keySet();
+        for (String staleIndexId : staleIndexIds) {
+            assertFalse("stale index [" + staleIndexId + "] should have been deleted", remainingIndexIds.contains(staleIndexId));
+        }
+        for (String survivingIndexId : survivingIndexIds) {
+            assertTrue("index [" + survivingIndexId + "] should have been kept", remainingIndexIds.contains(survivingIndexId));
+        }
+        assertTrue(remainingIndexIds.contains(failingIndexId));
+    }
+
+    private static BlobContainer childContainer(BlobStoreRepository repository, String indexId) {
+        return repository.blobStore().blobContainer(repository.basePath().add("indices").add(indexId));
+    }
+
     public void testReadAndWriteSnapshotsThroughIndexFile() throws Exception {
         final BlobStoreRepository repository = setupRepo();
         final long pendingGeneration = repository.metadata.pendingGeneration();
@@ -0,0 +1,114 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.rest;
+
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.collect.Iterators;
+import org.elasticsearch.core.CheckedConsumer;
+import org.elasticsearch.core.Tuple;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.rest.FakeRestChannel;
+import org.elasticsearch.test.rest.FakeRestRequest;
+import org.elasticsearch.transport.BytesRefRecycler;
+import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentType;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class ChunkedRestResponseBodyTests extends ESTestCase {
+
+    public void testEncodesXContentInChunks() throws IOException {
+        final Map<String, String> values = randomMap(500, 1000, () -> new Tuple<>(randomAlphaOfLength(10), randomAlphaOfLength(50)));
+        final List<ToXContent> parts = new ArrayList<>();
+        parts.add((builder, params) -> builder.startObject());
+        values.forEach((key, value) -> parts.add((builder, params) -> builder.field(key, value)));
+        parts.add((builder, params) -> builder.endObject());
+
+        final XContentType xContentType = randomFrom(XContentType.JSON, XContentType.SMILE, XContentType.YAML, XContentType.CBOR);
+        final FakeRestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withParams(
+            Map.of("format", xContentType.queryParameter())
+        ).build();
+        final ChunkedRestResponseBody body = ChunkedRestResponseBody.fromXContent(
+            parts.iterator(),
+            ToXContent.EMPTY_PARAMS,
+            new FakeRestChannel(request, true, 1)
+        );
+
+        final List<BytesReference> chunks = encodeChunks(body);
+        assertThat(chunks.size(), greaterThan(1));
+
+        final XContentBuilder expected = new FakeRestChannel(request, true, 1).newBuilder();
+        for (ToXContent part : parts) {
+            part.toXContent(expected, ToXContent.EMPTY_PARAMS);
+        }
+        assertThat(CompositeBytesReference.of(chunks.toArray(new BytesReference[0])), equalTo(BytesReference.bytes(expected)));
+        assertThat(body.getResponseContentTypeString(), equalTo(expected.getResponseContentTypeString()));
+    }
+
+    public void testEncodesTextInChunks() throws IOException {
+        final List<String> lines = randomList(500, 1000, () -> randomUnicodeOfLengthBetween(100, 200) + "\n");
+        final ChunkedRestResponseBody body = ChunkedRestResponseBody.fromTextChunks(
+            RestResponse.TEXT_CONTENT_TYPE,
+            lines.stream().<CheckedConsumer<Writer, IOException>>map(line -> writer -> writer.write(line)).iterator()
+        );
+
+        final List<BytesReference> chunks = encodeChunks(body);
+        assertThat(chunks.size(), greaterThan(1));
+        assertThat(CompositeBytesReference.of(chunks.toArray(new BytesReference[0])).utf8ToString(), equalTo(String.join("", lines)));
+    }
+
+    public void testEncodesEmptyBodyInOneChunk() throws IOException {
+        final ChunkedRestResponseBody body = ChunkedRestResponseBody.fromTextChunks(
+            RestResponse.TEXT_CONTENT_TYPE,
+            Collections.emptyIterator()
+        );
+        assertTrue(body.isDone());
+        try (ReleasableBytesReference chunk = body.encodeChunk(randomIntBetween(1, 1024), BytesRefRecycler.NON_RECYCLING_INSTANCE)) {
+            assertThat(chunk.length(), equalTo(0));
+        }
+    }
+
+    public void testMaterializesChunkedResponseContent() {
+        final RestResponse response = new RestResponse(
+            RestStatus.OK,
+            ChunkedRestResponseBody.fromTextChunks(
+                RestResponse.TEXT_CONTENT_TYPE,
+                Iterators.<CheckedConsumer<Writer, IOException>>concat(
+                    Iterators.single(writer -> writer.write("foo")),
+                    Iterators.single(writer -> writer.write("bar"))
+                )
+            )
+        );
+        assertTrue(response.isChunked());
+        assertThat(response.content().utf8ToString(), equalTo("foobar"));
+        assertFalse(response.isChunked());
+        assertThat(response.content().utf8ToString(), equalTo("foobar"));
+    }
+
+    private static List<BytesReference> encodeChunks(ChunkedRestResponseBody body) throws IOException {
+        final List<BytesReference> chunks = new ArrayList<>();
+        while (body.isDone() == false) {
+            try (ReleasableBytesReference chunk = body.encodeChunk(randomIntBetween(1, 1024), BytesRefRecycler.NON_RECYCLING_INSTANCE)) {
+                chunks.add(new BytesArray(BytesReference.toBytes(chunk)));
+            }
+        }
+        return chunks;
+    }
+}
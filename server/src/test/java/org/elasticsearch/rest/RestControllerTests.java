@@ -688,6 +688,11 @@ public class RestControllerTests extends ESTestCase {
                 return null;
             }
 
+            @Override
+            public HttpResponse createResponse(RestStatus status, ChunkedRestResponseBody content) {
+                return null;
+            }
+
             @Override
             public void release() {}
 
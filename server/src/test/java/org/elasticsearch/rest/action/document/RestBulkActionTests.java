@@ -13,6 +13,7 @@ import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.internal.node.NodeClient;
 import org.elasticsearch.common.bytes.BytesArray;
@@ -21,11 +22,14 @@ import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.client.NoOpNodeClient;
 import org.elasticsearch.test.rest.FakeRestRequest;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.XContentType;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.mock;
@@ -61,4 +65,32 @@ public class RestBulkActionTests extends ESTestCase {
             assertThat(bulkCalled.get(), equalTo(true));
         }
     }
+
+    public void testLargeBodyIsParsedOnWriteThread() throws Exception {
+        final int documents = RestBulkAction.PARSE_ON_WRITE_THREAD_THRESHOLD_BYTES / 32 + between(1, 100);
+        final StringBuilder body = new StringBuilder();
+        for (int i = 0; i < documents; i++) {
+            body.append("{\"index\":{\"_id\":\"").append(i).append("\"}}\n{\"field1\":\"val1\"}\n");
+        }
+        final SetOnce<Integer> bulkSize = new SetOnce<>();
+        final PlainActionFuture<String> bulkThread = new PlainActionFuture<>();
+        try (NodeClient verifyingClient = new NoOpNodeClient(this.getTestName()) {
+            @Override
+            public void bulk(BulkRequest request, ActionListener<BulkResponse> listener) {
+                bulkSize.set(request.requests().size());
+                bulkThread.onResponse(Thread.currentThread().getName());
+            }
+        }) {
+            new RestBulkAction(settings(Version.CURRENT).build()).handleRequest(
+                new FakeRestRequest.Builder(xContentRegistry()).withPath("my_index/_bulk")
+                    .withContent(new BytesArray(body.toString()), XContentType.JSON)
+                    .withMethod(RestRequest.Method.POST)
+                    .build(),
+                mock(RestChannel.class),
+                verifyingClient
+            );
+            assertThat(bulkThread.get(10, TimeUnit.SECONDS), containsString("[" + ThreadPool.Names.WRITE + "]"));
+            assertThat(bulkSize.get(), equalTo(documents));
+        }
+    }
 }
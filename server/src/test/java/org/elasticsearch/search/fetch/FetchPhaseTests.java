@@ -12,20 +12,39 @@ import org.elasticsearch.test.ESTestCase;
 
 public class FetchPhaseTests extends ESTestCase {
     public void testSequentialDocs() {
-        FetchPhase.DocIdToIndex[] docs = new FetchPhase.DocIdToIndex[10];
+        int[] docs = new int[10];
         int start = randomIntBetween(0, Short.MAX_VALUE);
         for (int i = 0; i < 10; i++) {
-            docs[i] = new FetchPhase.DocIdToIndex(start, i);
+            docs[i] = start;
             ++start;
         }
-        assertTrue(FetchPhase.hasSequentialDocs(docs));
+        assertTrue(FetchPhase.useSequentialStoredFieldsReader(docs));
 
         int from = randomIntBetween(0, 9);
-        start = docs[from].docId;
+        start = docs[from];
         for (int i = from; i < 10; i++) {
-            start += randomIntBetween(2, 10);
-            docs[i] = new FetchPhase.DocIdToIndex(start, i);
+            start += randomIntBetween(2, FetchPhase.SEQUENTIAL_STORED_FIELDS_MAX_AVERAGE_GAP);
+            docs[i] = start;
         }
-        assertFalse(FetchPhase.hasSequentialDocs(docs));
+        assertTrue(FetchPhase.useSequentialStoredFieldsReader(docs));
+    }
+
+    public void testSparseDocs() {
+        int[] docs = new int[10];
+        int start = randomIntBetween(0, Short.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            docs[i] = start;
+            start += randomIntBetween(FetchPhase.SEQUENTIAL_STORED_FIELDS_MAX_AVERAGE_GAP + 1, 100);
+        }
+        assertFalse(FetchPhase.useSequentialStoredFieldsReader(docs));
+    }
+
+    public void testFewDocs() {
+        int[] docs = new int[randomIntBetween(0, 9)];
+        int start = randomIntBetween(0, Short.MAX_VALUE);
+        for (int i = 0; i < docs.length; i++) {
+            docs[i] = start++;
+        }
+        assertFalse(FetchPhase.useSequentialStoredFieldsReader(docs));
     }
 }
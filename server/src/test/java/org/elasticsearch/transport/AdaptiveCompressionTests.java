@@ -0,0 +1,81 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+
+public class AdaptiveCompressionTests extends ESTestCase {
+
+    public void testCompressesUntilMeasured() {
+        final AdaptiveCompression adaptiveCompression = new AdaptiveCompression();
+        final int requests = between(1, 10);
+        for (int i = 0; i < requests; i++) {
+            assertTrue(adaptiveCompression.shouldCompress("action"));
+        }
+        assertTrue(adaptiveCompression.getStats().get("action").compressing());
+    }
+
+    public void testKeepsCompressingWorthwhileActions() {
+        final AdaptiveCompression adaptiveCompression = new AdaptiveCompression();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(adaptiveCompression.shouldCompress("compressible"));
+            adaptiveCompression.onCompressed("compressible", 1000, between(100, 500));
+        }
+        final TransportStats.AdaptiveCompressionStats stats = adaptiveCompression.getStats().get("compressible");
+        assertTrue(stats.compressing());
+        assertThat(stats.compressedCount(), equalTo(1000L));
+        assertThat(stats.uncompressedCount(), equalTo(0L));
+        assertThat(stats.sampledSizeInBytes(), equalTo(1000L * 1000L));
+    }
+
+    public void testStopsCompressingIncompressibleActionsButKeepsSampling() {
+        final AdaptiveCompression adaptiveCompression = new AdaptiveCompression();
+        assertTrue(adaptiveCompression.shouldCompress("incompressible"));
+        adaptiveCompression.onCompressed("incompressible", 1000, between(950, 1010));
+        assertFalse(adaptiveCompression.getStats().get("incompressible").compressing());
+
+        int compressed = 0;
+        final int requests = AdaptiveCompression.RESAMPLE_INTERVAL * between(2, 5);
+        for (int i = 0; i < requests; i++) {
+            if (adaptiveCompression.shouldCompress("incompressible")) {
+                compressed += 1;
+                adaptiveCompression.onCompressed("incompressible", 1000, 1000);
+            }
+        }
+        assertThat(compressed, equalTo(requests / AdaptiveCompression.RESAMPLE_INTERVAL));
+        final TransportStats.AdaptiveCompressionStats stats = adaptiveCompression.getStats().get("incompressible");
+        assertFalse(stats.compressing());
+        assertThat(stats.compressedCount(), equalTo(1L + compressed));
+        assertThat(stats.uncompressedCount(), equalTo((long) requests - compressed));
+    }
+
+    public void testResumesCompressingWhenContentBecomesCompressible() {
+        final AdaptiveCompression adaptiveCompression = new AdaptiveCompression();
+        assertTrue(adaptiveCompression.shouldCompress("action"));
+        adaptiveCompression.onCompressed("action", 1000, 1000);
+        assertFalse(adaptiveCompression.getStats().get("action").compressing());
+
+        for (int i = 0; i < AdaptiveCompression.RESAMPLE_INTERVAL * 10; i++) {
+            if (adaptiveCompression.shouldCompress("action")) {
+                adaptiveCompression.onCompressed("action", 1000, 100);
+            }
+        }
+        assertTrue(adaptiveCompression.getStats().get("action").compressing());
+    }
+
+    public void testIgnoresUntrackedActions() {
+        final AdaptiveCompression adaptiveCompression = new AdaptiveCompression();
+        adaptiveCompression.onCompressed("untracked", 1000, 100);
+        assertThat(adaptiveCompression.getStats(), not(hasKey("untracked")));
+    }
+}
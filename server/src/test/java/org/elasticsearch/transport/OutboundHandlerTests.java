@@ -11,6 +11,8 @@ package org.elasticsearch.transport;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
@@ -22,6 +24,8 @@ import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.network.HandlingTimeTracker;
 import org.elasticsearch.common.network.NetworkAddress;
@@ -150,10 +154,24 @@ public class OutboundHandlerTests extends ESTestCase {
                 requestRef.set(request);
             }
         });
+        boolean adaptivelyCompressed = compress && randomBoolean();
+        // track the action, like TcpTransport does before asking for adaptive compression
+        assertTrue(handler.getAdaptiveCompression().shouldCompress(action));
         if (compress) {
-            handler.sendRequest(node, channel, requestId, action, request, options, version, compressionScheme, isHandshake);
+            handler.sendRequest(
+                node,
+                channel,
+                requestId,
+                action,
+                request,
+                options,
+                version,
+                compressionScheme,
+                adaptivelyCompressed,
+                isHandshake
+            );
         } else {
-            handler.sendRequest(node, channel, requestId, action, request, options, version, null, isHandshake);
+            handler.sendRequest(node, channel, requestId, action, request, options, version, null, false, isHandshake);
         }
 
         BytesReference reference = channel.getMessageCaptor().get();
@@ -186,11 +204,114 @@ public class OutboundHandlerTests extends ESTestCase {
         } else {
             assertFalse(header.isCompressed());
         }
+        // adaptive compression only learns from the requests that it chose to compress
+        assertEquals(
+            adaptivelyCompressed && header.isCompressed() ? 1L : 0L,
+            handler.getAdaptiveCompression().getStats().get(action).compressedCount()
+        );
 
         assertEquals(value, message.value);
         assertEquals("header_value", header.getHeaders().v1().get("header"));
     }
 
+    public void testSendRequestWithLargeReleasableBytes() throws IOException {
+        final byte[] content = randomByteArrayOfLength(between(OutboundMessage.ZeroCopyStreamOutput.MIN_ZERO_COPY_LENGTH, 1 << 18));
+        final String before = randomAlphaOfLength(between(0, 100));
+        final String after = randomAlphaOfLength(between(0, 100));
+        final AtomicBoolean released = new AtomicBoolean();
+        final boolean ownsContent = randomBoolean();
+        final ChunkRequest request = new ChunkRequest(
+            before,
+            new ReleasableBytesReference(new BytesArray(content), () -> assertTrue(released.compareAndSet(false, true))),
+            after,
+            ownsContent
+        );
+        final long requestId = randomLongBetween(0, 300);
+
+        handler.sendRequest(
+            node,
+            channel,
+            requestId,
+            "action",
+            request,
+            TransportRequestOptions.EMPTY,
+            Version.CURRENT,
+            null,
+            false,
+            false
+        );
+        request.decRef();
+        assertFalse("content must not be released until the request has been sent", released.get());
+
+        final BytesReference reference = channel.getMessageCaptor().get();
+        boolean sentWithoutCopying = false;
+        final BytesRefIterator iterator = reference.iterator();
+        for (BytesRef slice = iterator.next(); slice != null; slice = iterator.next()) {
+            sentWithoutCopying |= slice.bytes == content;
+        }
+        assertEquals("content should be sent without copying if and only if the request owns it", ownsContent, sentWithoutCopying);
+
+        pipeline.handleBytes(channel, new ReleasableBytesReference(reference, () -> {}));
+        channel.getListenerCaptor().get().onResponse(null);
+        assertTrue(released.get());
+
+        final Tuple<Header, BytesReference> tuple = message.get();
+        assertEquals(requestId, tuple.v1().getRequestId());
+        assertFalse(tuple.v1().isCompressed());
+        final StreamInput in = tuple.v2().streamInput();
+        new TransportRequest.Empty(in);
+        assertEquals(before, in.readString());
+        assertEquals(new BytesArray(content), in.readBytesReference());
+        assertEquals(after, in.readString());
+    }
+
+    private static class ChunkRequest extends TransportRequest {
+        private final String before;
+        private final ReleasableBytesReference content;
+        private final String after;
+        private final boolean ownsContent;
+
+        ChunkRequest(String before, ReleasableBytesReference content, String after, boolean ownsContent) {
+            this.before = before;
+            this.content = content;
+            this.after = after;
+            this.ownsContent = ownsContent;
+        }
+
+        @Override
+        public boolean ownsWrittenReleasableBytes() {
+            return ownsContent;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeString(before);
+            out.writeBytesReference(content);
+            out.writeString(after);
+        }
+
+        @Override
+        public void incRef() {
+            content.incRef();
+        }
+
+        @Override
+        public boolean tryIncRef() {
+            return content.tryIncRef();
+        }
+
+        @Override
+        public boolean decRef() {
+            return content.decRef();
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return content.hasReferences();
+        }
+    }
+
     public void testSendResponse() throws IOException {
         ThreadContext threadContext = threadPool.getThreadContext();
         Version version = randomFrom(Version.CURRENT, Version.CURRENT.minimumCompatibilityVersion());
@@ -743,6 +743,7 @@ public abstract class IndexShardTestCase extends ESTestCase {
             request,
             fileChunkSizeInBytes,
             between(1, 8),
+            between(1, 4),
             between(1, 8),
             between(1, 8),
             false,
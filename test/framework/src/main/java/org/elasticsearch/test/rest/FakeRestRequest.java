@@ -16,6 +16,7 @@ import org.elasticsearch.common.xcontent.LoggingDeprecationHandler;
 import org.elasticsearch.http.HttpChannel;
 import org.elasticsearch.http.HttpRequest;
 import org.elasticsearch.http.HttpResponse;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
@@ -113,6 +114,15 @@ public class FakeRestRequest extends RestRequest {
 
         @Override
         public HttpResponse createResponse(RestStatus status, BytesReference unused) {
+            return createResponse();
+        }
+
+        @Override
+        public HttpResponse createResponse(RestStatus status, ChunkedRestResponseBody unused) {
+            return createResponse();
+        }
+
+        private static HttpResponse createResponse() {
             Map<String, String> responseHeaders = new HashMap<>();
             return new HttpResponse() {
                 @Override
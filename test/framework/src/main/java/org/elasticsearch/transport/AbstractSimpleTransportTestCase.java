@@ -788,6 +788,70 @@ public abstract class AbstractSimpleTransportTestCase extends ESTestCase {
         }
     }
 
+    public void testNoCompressionToSameHost() throws Exception {
+        final Settings settings = Settings.builder().put(TransportSettings.TRANSPORT_COMPRESS_SAME_HOST.getKey(), false).build();
+        try (MockTransportService serviceC = buildService("TS_C", CURRENT_VERSION, settings)) {
+            String component = "cccccccccooooooooooooooommmmmmmmmmmppppppppppprrrrrrrreeeeeeeeeessssssssiiiiiiiiiibbbbbbbbllllllllleeeeee";
+            String text = component.repeat(30);
+            serviceA.registerRequestHandler(
+                "internal:sayHello",
+                ThreadPool.Names.GENERIC,
+                StringMessageRequest::new,
+                (request, channel, task) -> {
+                    assertThat(text, equalTo(request.message));
+                    channel.sendResponse(new StringMessageResponse(""));
+                }
+            );
+
+            Settings settingsWithCompress = Settings.builder()
+                .put(TransportSettings.TRANSPORT_COMPRESS.getKey(), Compression.Enabled.TRUE)
+                .put(
+                    TransportSettings.TRANSPORT_COMPRESSION_SCHEME.getKey(),
+                    randomFrom(Compression.Scheme.DEFLATE, Compression.Scheme.LZ4)
+                )
+                .build();
+            ConnectionProfile connectionProfile = ConnectionProfile.buildDefaultConnectionProfile(settingsWithCompress);
+            // the nodes in these tests all run on the loopback interface, so are on the same host
+            connectToNode(serviceC, serviceA.getLocalDiscoNode(), connectionProfile);
+            final long rxBytesBefore = serviceA.transport().getStats().getRxSize().getBytes();
+
+            Future<StringMessageResponse> res = submitRequest(
+                serviceC,
+                serviceA.getLocalDiscoNode(),
+                "internal:sayHello",
+                new StringMessageRequest(text, -1),
+                new TransportResponseHandler<>() {
+                    @Override
+                    public StringMessageResponse read(StreamInput in) throws IOException {
+                        return new StringMessageResponse(in);
+                    }
+
+                    @Override
+                    public String executor() {
+                        return ThreadPool.Names.GENERIC;
+                    }
+
+                    @Override
+                    public void handleResponse(StringMessageResponse response) {}
+
+                    @Override
+                    public void handleException(TransportException exp) {
+                        logger.error("Unexpected failure", exp);
+                        fail("got exception instead of a response: " + exp.getMessage());
+                    }
+                }
+            );
+
+            res.get();
+            final long bytesLength;
+            try (BytesStreamOutput output = new BytesStreamOutput()) {
+                new StringMessageRequest(text, -1).writeTo(output);
+                bytesLength = output.bytes().length();
+            }
+            assertThat(serviceA.transport().getStats().getRxSize().getBytes() - rxBytesBefore, greaterThan(bytesLength));
+        }
+    }
+
     public void testErrorMessage() throws InterruptedException {
         serviceA.registerRequestHandler(
             "internal:sayHelloException",
@@ -18,6 +18,7 @@ import org.elasticsearch.ResourceNotFoundException;
 import org.elasticsearch.action.NoShardAvailableActionException;
 import org.elasticsearch.action.UnavailableShardsException;
 import org.elasticsearch.cluster.block.ClusterBlockException;
+import org.elasticsearch.common.ExponentiallyWeightedMovingAverage;
 import org.elasticsearch.common.Randomness;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.transport.NetworkExceptionHelper;
@@ -68,6 +69,7 @@ import static org.elasticsearch.core.Strings.format;
 public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
 
     private static final int DELAY_MILLIS = 50;
+    private static final double OPERATION_SIZE_EWMA_ALPHA = 0.3;
     private static final Logger LOGGER = LogManager.getLogger(ShardFollowNodeTask.class);
 
     private final ShardFollowTask params;
@@ -97,6 +99,9 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
     private long failedWriteRequests = 0;
     private long operationWritten = 0;
     private long lastFetchTime = -1;
+    // the number of operations to request per read, adapted to the observed operation size
+    private int readRequestOperationCount;
+    private ExponentiallyWeightedMovingAverage averageOperationSizeInBytes;
     private final Queue<Tuple<Long, Long>> partialReadRequests = new PriorityQueue<>(Comparator.comparing(Tuple::v1));
     private final Queue<Translog.Operation> buffer = new PriorityQueue<>(Comparator.comparing(Translog.Operation::seqNo));
     private long bufferSizeInBytes = 0;
@@ -125,6 +130,7 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
         this.params = params;
         this.scheduler = scheduler;
         this.relativeTimeProvider = relativeTimeProvider;
+        this.readRequestOperationCount = params.getMaxReadRequestOperationCount();
         /*
          * We keep track of the most recent fetch exceptions, with the number of exceptions that we track equal to the maximum number of
          * concurrent fetches. For each failed fetch, we track the from sequence number associated with the request, and we clear the entry
@@ -229,7 +235,9 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
             numOutstandingReads++;
             sendShardChangesRequest(fromSeqNo, requestOpCount, maxRequiredSeqNo);
         }
-        final int maxReadRequestOperationCount = params.getMaxReadRequestOperationCount();
+        // split the new operations in reads that the leader can return without truncating them to max_read_request_size, which would
+        // otherwise cost an extra round trip for each read to fetch the missing operations
+        final int maxReadRequestOperationCount = readRequestOperationCount;
         while (hasReadBudget() && lastRequestedSeqNo < leaderGlobalCheckpoint) {
             final long from = lastRequestedSeqNo + 1;
             final long maxRequiredSeqNo = Math.min(leaderGlobalCheckpoint, from + maxReadRequestOperationCount - 1);
@@ -416,6 +424,7 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
             long operationsSize = operations.stream().mapToLong(Translog.Operation::estimateSize).sum();
             buffer.addAll(operations);
             bufferSizeInBytes += operationsSize;
+            updateReadRequestOperationCount((double) operationsSize / operations.size());
             final long maxSeqNo = response.getOperations()[response.getOperations().length - 1].seqNo();
             assert maxSeqNo == Arrays.stream(response.getOperations()).mapToLong(Translog.Operation::seqNo).max().getAsLong();
             newFromSeqNo = maxSeqNo + 1;
@@ -439,6 +448,46 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
         coordinateReads();
     }
 
+    private void updateReadRequestOperationCount(double operationSizeInBytes) {
+        assert Thread.holdsLock(this);
+        if (averageOperationSizeInBytes == null) {
+            averageOperationSizeInBytes = new ExponentiallyWeightedMovingAverage(OPERATION_SIZE_EWMA_ALPHA, operationSizeInBytes);
+        } else {
+            averageOperationSizeInBytes.addValue(operationSizeInBytes);
+        }
+        final int newReadRequestOperationCount = computeReadRequestOperationCount(
+            params.getMaxReadRequestOperationCount(),
+            params.getMaxReadRequestSize().getBytes(),
+            averageOperationSizeInBytes.getAverage()
+        );
+        if (newReadRequestOperationCount != readRequestOperationCount) {
+            LOGGER.trace(
+                "{} adjusting read request operation count from [{}] to [{}], average operation size [{}] bytes",
+                params.getFollowShardId(),
+                readRequestOperationCount,
+                newReadRequestOperationCount,
+                averageOperationSizeInBytes.getAverage()
+            );
+            readRequestOperationCount = newReadRequestOperationCount;
+        }
+    }
+
+    /**
+     * Computes how many operations to request per read so that a response of operations of the given average size stays within
+     * {@code max_read_request_size}, bounded by {@code max_read_request_operation_count}.
+     */
+    static int computeReadRequestOperationCount(
+        int maxReadRequestOperationCount,
+        long maxReadRequestSizeInBytes,
+        double averageOperationSizeInBytes
+    ) {
+        if (averageOperationSizeInBytes <= 0) {
+            return maxReadRequestOperationCount;
+        }
+        final long operationsPerRequest = (long) (maxReadRequestSizeInBytes / averageOperationSizeInBytes);
+        return Math.toIntExact(Math.max(1L, Math.min(maxReadRequestOperationCount, operationsPerRequest)));
+    }
+
     private void sendBulkShardOperationsRequest(
         List<Translog.Operation> operations,
         long leaderMaxSequenceNoOfUpdatesOrDeletes,
@@ -725,6 +774,7 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
                     .collect(Collectors.toMap(Map.Entry::getKey, e -> Tuple.tuple(e.getValue().v1().get(), e.getValue().v2())))
             ),
             timeSinceLastFetchMillis,
+            readRequestOperationCount,
             fatalException
         );
     }
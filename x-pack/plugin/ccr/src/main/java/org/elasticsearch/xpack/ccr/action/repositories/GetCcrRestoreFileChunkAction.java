@@ -109,6 +109,11 @@ public class GetCcrRestoreFileChunkAction extends ActionType<GetCcrRestoreFileCh
             out.writeBytesReference(chunk);
         }
 
+        @Override
+        public boolean ownsWrittenReleasableBytes() {
+            return true;
+        }
+
         @Override
         public void incRef() {
             chunk.incRef();
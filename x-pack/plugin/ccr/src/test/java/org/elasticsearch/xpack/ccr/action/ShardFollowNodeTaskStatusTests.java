@@ -63,6 +63,7 @@ public class ShardFollowNodeTaskStatusTests extends AbstractSerializingTestCase<
             randomNonNegativeLong(),
             randomReadExceptions(),
             randomNonNegativeLong(),
+            randomIntBetween(1, Integer.MAX_VALUE),
             randomBoolean() ? new ElasticsearchException("fatal error") : null
         );
     }
@@ -109,6 +110,7 @@ public class ShardFollowNodeTaskStatusTests extends AbstractSerializingTestCase<
             assertThat(entry.getValue().v2().getCause().getMessage(), containsString(expected.getCause().getMessage()));
         }
         assertThat(newInstance.timeSinceLastReadMillis(), equalTo(expectedInstance.timeSinceLastReadMillis()));
+        assertThat(newInstance.readRequestOperationCount(), equalTo(expectedInstance.readRequestOperationCount()));
     }
 
     @Override
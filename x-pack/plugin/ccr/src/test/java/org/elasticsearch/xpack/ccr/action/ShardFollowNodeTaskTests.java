@@ -108,6 +108,44 @@ public class ShardFollowNodeTaskTests extends ESTestCase {
         assertThat(status.lastRequestedSeqNo(), equalTo(60L));
     }
 
+    public void testReadRequestOperationCountAdaptsToOperationSize() {
+        final ShardChangesAction.Response response = generateShardChangesResponse(0, 3L, 0L, 0L, 1L, 63L);
+        final long operationSize = response.getOperations()[0].estimateSize();
+
+        ShardFollowTaskParams params = new ShardFollowTaskParams();
+        params.maxReadRequestOperationCount = 16;
+        params.maxReadRequestSize = new ByteSizeValue(4 * operationSize, ByteSizeUnit.BYTES);
+        params.maxOutstandingReadRequests = between(15, 20);
+        params.maxOutstandingWriteRequests = 0;
+
+        ShardFollowNodeTask task = createShardFollowTask(params);
+        startTask(task, 3, -1);
+        task.coordinateReads();
+        assertThat(shardChangesRequests, contains(new long[] { 0L, 16L })); // nothing is known about the operations yet
+        assertThat(task.getStatus().readRequestOperationCount(), equalTo(16));
+
+        shardChangesRequests.clear();
+        task.innerHandleReadResponse(0L, 3L, response);
+        // only four operations fit in max_read_request_size so the remaining operations are requested four at a time
+        assertThat(task.getStatus().readRequestOperationCount(), equalTo(4));
+        final List<long[]> expectedRequests = new ArrayList<>();
+        for (long from = 4L; from <= 63L; from += 4L) {
+            expectedRequests.add(new long[] { from, 4L });
+        }
+        assertThat(shardChangesRequests, contains(expectedRequests.toArray(new long[0][])));
+    }
+
+    public void testComputeReadRequestOperationCount() {
+        final int maxOperationCount = between(1, 5120);
+        assertThat(ShardFollowNodeTask.computeReadRequestOperationCount(maxOperationCount, 1024L, 0.0), equalTo(maxOperationCount));
+        assertThat(
+            ShardFollowNodeTask.computeReadRequestOperationCount(maxOperationCount, Long.MAX_VALUE, randomDoubleBetween(1.0, 1024.0, true)),
+            equalTo(maxOperationCount)
+        );
+        assertThat(ShardFollowNodeTask.computeReadRequestOperationCount(maxOperationCount, 1024L, 2048.0), equalTo(1));
+        assertThat(ShardFollowNodeTask.computeReadRequestOperationCount(5120, 1024L, 10.0), equalTo(102));
+    }
+
     public void testMaxWriteBufferCount() {
         ShardFollowTaskParams params = new ShardFollowTaskParams();
         params.maxReadRequestOperationCount = 64;
@@ -61,6 +61,7 @@ public class StatsResponsesTests extends AbstractWireSerializingTestCase<FollowS
                 randomNonNegativeLong(),
                 Collections.emptyNavigableMap(),
                 randomNonNegativeLong(),
+                randomIntBetween(1, Integer.MAX_VALUE),
                 randomBoolean() ? new ElasticsearchException("fatal error") : null
             );
             responses.add(new FollowStatsAction.StatsResponse(status));
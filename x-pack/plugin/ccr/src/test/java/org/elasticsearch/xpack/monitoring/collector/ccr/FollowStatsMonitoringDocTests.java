@@ -117,6 +117,7 @@ public class FollowStatsMonitoringDocTests extends BaseMonitoringDocTestCase<Fol
             )
         );
         final long timeSinceLastReadMillis = randomNonNegativeLong();
+        final int readRequestOperationCount = randomIntBetween(1, Integer.MAX_VALUE);
         final ShardFollowNodeTaskStatus taskStatus = new ShardFollowNodeTaskStatus(
             "leader_cluster",
             "leader_index",
@@ -146,6 +147,7 @@ public class FollowStatsMonitoringDocTests extends BaseMonitoringDocTestCase<Fol
             operationWritten,
             fetchExceptions,
             timeSinceLastReadMillis,
+            readRequestOperationCount,
             new ElasticsearchException("fatal error")
         );
         final FollowStatsMonitoringDoc document = new FollowStatsMonitoringDoc("_cluster", timestamp, intervalMillis, node, taskStatus);
@@ -206,6 +208,7 @@ public class FollowStatsMonitoringDocTests extends BaseMonitoringDocTestCase<Fol
                               }
                             ],
                             "time_since_last_read_millis": %s,
+                            "read_request_operation_count": %s,
                             "fatal_exception": {
                               "type": "exception",
                               "reason": "fatal error"
@@ -240,7 +243,8 @@ public class FollowStatsMonitoringDocTests extends BaseMonitoringDocTestCase<Fol
                         operationWritten,
                         fetchExceptions.keySet().iterator().next(),
                         fetchExceptions.values().iterator().next().v1(),
-                        timeSinceLastReadMillis
+                        timeSinceLastReadMillis,
+                        readRequestOperationCount
                     )
                 )
             )
@@ -280,6 +284,7 @@ public class FollowStatsMonitoringDocTests extends BaseMonitoringDocTestCase<Fol
             10,
             fetchExceptions,
             2,
+            5120,
             new ElasticsearchException("fatal error")
         );
         XContentBuilder builder = jsonBuilder();
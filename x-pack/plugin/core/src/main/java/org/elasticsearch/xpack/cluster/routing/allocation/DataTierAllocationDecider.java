@@ -49,6 +49,11 @@ public final class DataTierAllocationDecider extends AllocationDecider {
         return shouldFilter(indexMetadata, node.node().getRoles(), allocation);
     }
 
+    @Override
+    public boolean hasIndexAndNodeScopedDecisions(ShardRouting shardRouting) {
+        return true;
+    }
+
     @Override
     public Decision canRemain(ShardRouting shardRouting, RoutingNode node, RoutingAllocation allocation) {
         return shouldFilter(shardRouting, node.node(), allocation);
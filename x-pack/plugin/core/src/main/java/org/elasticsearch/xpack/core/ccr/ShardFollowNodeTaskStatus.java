@@ -65,6 +65,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
     private static final ParseField OPERATIONS_WRITTEN = new ParseField("operations_written");
     private static final ParseField READ_EXCEPTIONS = new ParseField("read_exceptions");
     private static final ParseField TIME_SINCE_LAST_READ_MILLIS_FIELD = new ParseField("time_since_last_read_millis");
+    private static final ParseField READ_REQUEST_OPERATION_COUNT_FIELD = new ParseField("read_request_operation_count");
     private static final ParseField FATAL_EXCEPTION = new ParseField("fatal_exception");
 
     @SuppressWarnings("unchecked")
@@ -100,7 +101,8 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
             ((List<Map.Entry<Long, Tuple<Integer, ElasticsearchException>>>) args[26]).stream()
                 .collect(Maps.toUnmodifiableSortedMap(Map.Entry::getKey, Map.Entry::getValue)),
             (long) args[27],
-            (ElasticsearchException) args[28]
+            args[28] == null ? 0 : (int) args[28],
+            (ElasticsearchException) args[29]
         )
     );
 
@@ -141,6 +143,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
         STATUS_PARSER.declareLong(ConstructingObjectParser.constructorArg(), OPERATIONS_WRITTEN);
         STATUS_PARSER.declareObjectArray(ConstructingObjectParser.constructorArg(), READ_EXCEPTIONS_ENTRY_PARSER, READ_EXCEPTIONS);
         STATUS_PARSER.declareLong(ConstructingObjectParser.constructorArg(), TIME_SINCE_LAST_READ_MILLIS_FIELD);
+        STATUS_PARSER.declareInt(ConstructingObjectParser.optionalConstructorArg(), READ_REQUEST_OPERATION_COUNT_FIELD);
         STATUS_PARSER.declareObject(
             ConstructingObjectParser.optionalConstructorArg(),
             (p, c) -> ElasticsearchException.fromXContent(p),
@@ -330,6 +333,12 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
         return timeSinceLastReadMillis;
     }
 
+    private final int readRequestOperationCount;
+
+    public int readRequestOperationCount() {
+        return readRequestOperationCount;
+    }
+
     private final ElasticsearchException fatalException;
 
     public ElasticsearchException getFatalException() {
@@ -365,6 +374,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
         final long operationWritten,
         final NavigableMap<Long, Tuple<Integer, ElasticsearchException>> readExceptions,
         final long timeSinceLastReadMillis,
+        final int readRequestOperationCount,
         final ElasticsearchException fatalException
     ) {
         this.remoteCluster = remoteCluster;
@@ -395,6 +405,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
         this.operationWritten = operationWritten;
         this.readExceptions = Objects.requireNonNull(readExceptions);
         this.timeSinceLastReadMillis = timeSinceLastReadMillis;
+        this.readRequestOperationCount = readRequestOperationCount;
         this.fatalException = fatalException;
     }
 
@@ -433,6 +444,11 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
             in.readMap(StreamInput::readVLong, stream -> Tuple.tuple(stream.readVInt(), stream.readException()))
         );
         this.timeSinceLastReadMillis = in.readZLong();
+        if (in.getVersion().onOrAfter(Version.V_8_4_0)) {
+            this.readRequestOperationCount = in.readVInt();
+        } else {
+            this.readRequestOperationCount = 0;
+        }
         this.fatalException = in.readException();
     }
 
@@ -476,6 +492,9 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
             stream.writeException(value.v2());
         });
         out.writeZLong(timeSinceLastReadMillis);
+        if (out.getVersion().onOrAfter(Version.V_8_4_0)) {
+            out.writeVInt(readRequestOperationCount);
+        }
         out.writeException(fatalException);
     }
 
@@ -555,6 +574,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
             "time_since_last_read",
             new TimeValue(timeSinceLastReadMillis, TimeUnit.MILLISECONDS)
         );
+        builder.field(READ_REQUEST_OPERATION_COUNT_FIELD.getPreferredName(), readRequestOperationCount);
         if (fatalException != null) {
             builder.field(FATAL_EXCEPTION.getPreferredName());
             builder.startObject();
@@ -611,6 +631,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
             readExceptions.keySet().equals(that.readExceptions.keySet())
             && getReadExceptionMessages(this).equals(getReadExceptionMessages(that))
             && timeSinceLastReadMillis == that.timeSinceLastReadMillis
+            && readRequestOperationCount == that.readRequestOperationCount
             && Objects.equals(fatalExceptionMessage, otherFatalExceptionMessage);
     }
 
@@ -650,6 +671,7 @@ public class ShardFollowNodeTaskStatus implements Task.Status {
             readExceptions.keySet(),
             getReadExceptionMessages(this),
             timeSinceLastReadMillis,
+            readRequestOperationCount,
             fatalExceptionMessage
         );
     }
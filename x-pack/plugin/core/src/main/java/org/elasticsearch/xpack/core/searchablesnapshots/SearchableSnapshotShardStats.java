@@ -150,6 +150,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
         private final TimedCounter directBytesRead;
         private final TimedCounter optimizedBytesRead;
         private final Counter blobStoreBytesRequested;
+        private final Counter blobStoreBytesOverRead;
         private final Counter luceneBytesRead;
         private final long currentIndexCacheFills;
 
@@ -173,6 +174,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             TimedCounter directBytesRead,
             TimedCounter optimizedBytesRead,
             Counter blobStoreBytesRequested,
+            Counter blobStoreBytesOverRead,
             Counter luceneBytesRead,
             long currentIndexCacheFills
         ) {
@@ -195,6 +197,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             this.directBytesRead = directBytesRead;
             this.optimizedBytesRead = optimizedBytesRead;
             this.blobStoreBytesRequested = blobStoreBytesRequested;
+            this.blobStoreBytesOverRead = blobStoreBytesOverRead;
             this.luceneBytesRead = luceneBytesRead;
             this.currentIndexCacheFills = currentIndexCacheFills;
         }
@@ -231,6 +234,11 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             this.directBytesRead = new TimedCounter(in);
             this.optimizedBytesRead = new TimedCounter(in);
             this.blobStoreBytesRequested = new Counter(in);
+            if (in.getVersion().onOrAfter(Version.V_8_4_0)) {
+                this.blobStoreBytesOverRead = new Counter(in);
+            } else {
+                this.blobStoreBytesOverRead = new Counter(0, 0, 0, 0);
+            }
             if (in.getVersion().onOrAfter(Version.V_7_13_0)) {
                 this.luceneBytesRead = new Counter(in);
             } else {
@@ -266,6 +274,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 cis1.directBytesRead.add(cis2.directBytesRead),
                 cis1.optimizedBytesRead.add(cis2.optimizedBytesRead),
                 cis1.blobStoreBytesRequested.add(cis2.blobStoreBytesRequested),
+                cis1.blobStoreBytesOverRead.add(cis2.blobStoreBytesOverRead),
                 cis1.luceneBytesRead.add(cis2.luceneBytesRead),
                 cis1.currentIndexCacheFills + cis2.currentIndexCacheFills
             );
@@ -303,6 +312,9 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             directBytesRead.writeTo(out);
             optimizedBytesRead.writeTo(out);
             blobStoreBytesRequested.writeTo(out);
+            if (out.getVersion().onOrAfter(Version.V_8_4_0)) {
+                blobStoreBytesOverRead.writeTo(out);
+            }
             if (out.getVersion().onOrAfter(Version.V_7_13_0)) {
                 luceneBytesRead.writeTo(out);
             }
@@ -390,6 +402,10 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             return blobStoreBytesRequested;
         }
 
+        public Counter getBlobStoreBytesOverRead() {
+            return blobStoreBytesOverRead;
+        }
+
         public Counter getLuceneBytesRead() {
             return luceneBytesRead;
         }
@@ -434,6 +450,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                     builder.endObject();
                 }
                 builder.field("blob_store_bytes_requested", getBlobStoreBytesRequested(), params);
+                builder.field("blob_store_bytes_over_read", getBlobStoreBytesOverRead(), params);
                 builder.field("lucene_bytes_read", getLuceneBytesRead(), params);
                 builder.field("current_index_cache_fills", getCurrentIndexCacheFills());
             }
@@ -468,6 +485,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 && Objects.equals(directBytesRead, stats.directBytesRead)
                 && Objects.equals(optimizedBytesRead, stats.optimizedBytesRead)
                 && Objects.equals(blobStoreBytesRequested, stats.blobStoreBytesRequested)
+                && Objects.equals(blobStoreBytesOverRead, stats.blobStoreBytesOverRead)
                 && Objects.equals(luceneBytesRead, stats.luceneBytesRead)
                 && currentIndexCacheFills == stats.currentIndexCacheFills;
         }
@@ -494,6 +512,7 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 directBytesRead,
                 optimizedBytesRead,
                 blobStoreBytesRequested,
+                blobStoreBytesOverRead,
                 luceneBytesRead,
                 currentIndexCacheFills
             );
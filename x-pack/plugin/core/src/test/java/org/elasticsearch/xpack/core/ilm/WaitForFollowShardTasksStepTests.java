@@ -201,6 +201,7 @@ public class WaitForFollowShardTasksStepTests extends AbstractStepTestCase<WaitF
             0,
             Collections.emptyNavigableMap(),
             0,
+            0,
             null
         );
     }
@@ -69,6 +69,7 @@ public class SearchableSnapshotShardStatsTests extends AbstractWireSerializingTe
             randomTimedCounter(),
             randomCounter(),
             randomCounter(),
+            randomCounter(),
             randomNonNegativeLong()
         );
     }
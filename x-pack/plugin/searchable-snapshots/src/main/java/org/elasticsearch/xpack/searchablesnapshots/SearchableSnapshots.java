@@ -102,6 +102,7 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.full.PersistentCache;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheInfoService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService;
+import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SearchableSnapshotSearchOperationListener;
 import org.elasticsearch.xpack.searchablesnapshots.recovery.SearchableSnapshotRecoveryState;
 import org.elasticsearch.xpack.searchablesnapshots.rest.RestClearSearchableSnapshotsCacheAction;
 import org.elasticsearch.xpack.searchablesnapshots.rest.RestMountSearchableSnapshotAction;
@@ -308,6 +309,12 @@ public class SearchableSnapshots extends Plugin implements IndexStorePlugin, Eng
             FrozenCacheService.SHARED_CACHE_MAX_FREQ_SETTING,
             FrozenCacheService.SHARED_CACHE_DECAY_INTERVAL_SETTING,
             FrozenCacheService.SHARED_CACHE_MIN_TIME_DELTA_SETTING,
+            FrozenCacheService.SHARED_CACHE_MMAP_SETTING,
+            FrozenCacheService.SHARED_CACHE_COALESCE_MAX_DISTANCE_SETTING,
+            FrozenCacheService.SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING,
+            FrozenCacheService.SHARED_CACHE_SEARCH_MAX_QUEUED_COLD_SHARDS_SETTING,
+            FrozenCacheService.SHARED_CACHE_PREFETCH_ENABLED_SETTING,
+            FrozenCacheService.SHARED_CACHE_PREFETCH_MAX_BYTES_PER_SEC_SETTING,
             BlobStoreCacheMaintenanceService.SNAPSHOT_SNAPSHOT_CLEANUP_INTERVAL_SETTING,
             BlobStoreCacheMaintenanceService.SNAPSHOT_SNAPSHOT_CLEANUP_KEEP_ALIVE_SETTING,
             BlobStoreCacheMaintenanceService.SNAPSHOT_SNAPSHOT_CLEANUP_BATCH_SIZE_SETTING,
@@ -379,6 +386,13 @@ public class SearchableSnapshots extends Plugin implements IndexStorePlugin, Eng
                 new SearchableSnapshotIndexEventListener(settings, cacheService.get(), frozenCacheService.get())
             );
             indexModule.addIndexEventListener(failShardsListener.get());
+            if (frozenCacheService.get() != null && indexModule.indexSettings().getIndexMetadata().isPartialSearchableSnapshot()) {
+                final SearchableSnapshotSearchOperationListener searchOperationListener = new SearchableSnapshotSearchOperationListener(
+                    frozenCacheService.get()
+                );
+                indexModule.addSearchOperationListener(searchOperationListener);
+                indexModule.addIndexEventListener(searchOperationListener);
+            }
 
             indexModule.addSettingsUpdateConsumer(IndexMetadata.INDEX_BLOCKS_WRITE_SETTING, s -> {}, write -> {
                 if (write == false) {
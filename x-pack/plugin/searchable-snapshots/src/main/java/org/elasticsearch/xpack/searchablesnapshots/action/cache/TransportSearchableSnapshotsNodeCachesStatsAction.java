@@ -6,6 +6,7 @@
  */
 package org.elasticsearch.xpack.searchablesnapshots.action.cache;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionType;
 import org.elasticsearch.action.FailedNodeException;
 import org.elasticsearch.action.support.ActionFilters;
@@ -21,6 +22,7 @@ import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.license.XPackLicenseState;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -134,7 +136,9 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             frozenCacheStats.getWriteBytes(),
             frozenCacheStats.getReadCount(),
             frozenCacheStats.getReadBytes(),
-            frozenCacheStats.getEvictCount()
+            frozenCacheStats.getEvictCount(),
+            frozenCacheStats.getColdSearchQueuedCount(),
+            frozenCacheStats.getColdSearchQueueTimeInMillis()
         );
     }
 
@@ -178,6 +182,8 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
         private final long reads;
         private final long bytesRead;
         private final long evictions;
+        private final long coldSearchesQueued;
+        private final long coldSearchQueueTimeInMillis;
 
         public NodeCachesStatsResponse(
             DiscoveryNode node,
@@ -188,7 +194,9 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             long bytesWritten,
             long reads,
             long bytesRead,
-            long evictions
+            long evictions,
+            long coldSearchesQueued,
+            long coldSearchQueueTimeInMillis
         ) {
             super(node);
             this.numRegions = numRegions;
@@ -199,6 +207,8 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             this.reads = reads;
             this.bytesRead = bytesRead;
             this.evictions = evictions;
+            this.coldSearchesQueued = coldSearchesQueued;
+            this.coldSearchQueueTimeInMillis = coldSearchQueueTimeInMillis;
         }
 
         public NodeCachesStatsResponse(StreamInput in) throws IOException {
@@ -211,6 +221,13 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             this.reads = in.readVLong();
             this.bytesRead = in.readVLong();
             this.evictions = in.readVLong();
+            if (in.getVersion().onOrAfter(Version.V_8_4_0)) {
+                this.coldSearchesQueued = in.readVLong();
+                this.coldSearchQueueTimeInMillis = in.readVLong();
+            } else {
+                this.coldSearchesQueued = 0L;
+                this.coldSearchQueueTimeInMillis = 0L;
+            }
         }
 
         @Override
@@ -224,6 +241,10 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             out.writeVLong(reads);
             out.writeVLong(bytesRead);
             out.writeVLong(evictions);
+            if (out.getVersion().onOrAfter(Version.V_8_4_0)) {
+                out.writeVLong(coldSearchesQueued);
+                out.writeVLong(coldSearchQueueTimeInMillis);
+            }
         }
 
         @Override
@@ -240,6 +261,12 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
                     builder.field("num_regions", numRegions);
                     builder.humanReadableField("size_in_bytes", "size", ByteSizeValue.ofBytes(size));
                     builder.humanReadableField("region_size_in_bytes", "region_size", ByteSizeValue.ofBytes(regionSize));
+                    builder.field("cold_searches_queued", coldSearchesQueued);
+                    builder.humanReadableField(
+                        "cold_search_queue_time_in_millis",
+                        "cold_search_queue_time",
+                        TimeValue.timeValueMillis(coldSearchQueueTimeInMillis)
+                    );
                 }
                 builder.endObject();
             }
@@ -278,6 +305,14 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
         public long getEvictions() {
             return evictions;
         }
+
+        public long getColdSearchesQueued() {
+            return coldSearchesQueued;
+        }
+
+        public long getColdSearchQueueTimeInMillis() {
+            return coldSearchQueueTimeInMillis;
+        }
     }
 
     public static class NodesCachesStatsResponse extends BaseNodesResponse<NodeCachesStatsResponse> implements ToXContentObject {
@@ -10,9 +10,11 @@ package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.RateLimiter;
 import org.elasticsearch.Assertions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.StepListener;
+import org.elasticsearch.action.support.ContextPreservingActionListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.cluster.routing.allocation.DataTier;
@@ -23,8 +25,11 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.RelativeByteSizeValue;
 import org.elasticsearch.common.util.concurrent.AbstractAsyncTask;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.KeyedLock;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.core.TimeValue;
@@ -33,6 +38,7 @@ import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.monitor.fs.FsProbe;
 import org.elasticsearch.node.NodeRoleSettings;
+import org.elasticsearch.tasks.CancellableTask;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xpack.searchablesnapshots.cache.common.ByteRange;
 import org.elasticsearch.xpack.searchablesnapshots.cache.common.CacheKey;
@@ -40,8 +46,10 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.common.SparseFileTracke
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -229,12 +237,83 @@ public class FrozenCacheService implements Releasable {
         Setting.Property.NodeScope
     );
 
+    /**
+     * Whether reads from the shared cache file go through a read-only memory mapping of each region rather than through positional reads
+     * on the file channel. Mapping avoids a system call per read, which matters for the many small reads that Lucene issues against
+     * fully populated regions, at the cost of the mapped pages counting towards the virtual memory of the process.
+     */
+    public static final Setting<Boolean> SHARED_CACHE_MMAP_SETTING = Setting.boolSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "mmap",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * Whether the ranges of Lucene files that are read first when a partially mounted shard is opened or searched are fetched into the
+     * shared cache as soon as the shard is loaded, rather than on demand by the first search.
+     */
+    public static final Setting<Boolean> SHARED_CACHE_PREFETCH_ENABLED_SETTING = Setting.boolSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "prefetch.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * The rate at which all shards on this node together may download prefetched ranges into the shared cache, so that prefetching does
+     * not compete with searches for the bandwidth to the repository. A value of zero disables the limit.
+     */
+    public static final Setting<ByteSizeValue> SHARED_CACHE_PREFETCH_MAX_BYTES_PER_SEC_SETTING = Setting.byteSizeSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "prefetch.max_bytes_per_sec",
+        ByteSizeValue.ofMb(40),
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * Missing ranges of a region that are at most this many bytes apart are fetched from the blob store with a single ranged read, which
+     * also downloads the bytes in between them again. This trades some extra download for fewer requests to the blob store when reads are
+     * scattered across a region, as is for instance the case for doc values. Zero means that each missing range is fetched on its own.
+     */
+    public static final Setting<ByteSizeValue> SHARED_CACHE_COALESCE_MAX_DISTANCE_SETTING = Setting.byteSizeSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "coalesce.max_distance",
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ZERO,
+        ByteSizeValue.ofMb(16),
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * The number of query phases on partially mounted shards that are likely to miss the cache which may run at the same time on this
+     * node. Further such queries wait for their turn in the order they arrived, so that they do not all compete for the bandwidth to the
+     * repository and evict each other's regions from the cache. Waiting queries do not occupy a search thread. Zero means that the number
+     * is not limited.
+     */
+    public static final Setting<Integer> SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING = Setting.intSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "search.max_concurrent_cold_shards",
+        0,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * The number of query phases on partially mounted shards that may wait for their turn on this node, see
+     * {@link #SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING}. Further such query phases are rejected, just like the searches that
+     * exceed the queue of the search thread pool.
+     */
+    public static final Setting<Integer> SHARED_CACHE_SEARCH_MAX_QUEUED_COLD_SHARDS_SETTING = Setting.intSetting(
+        SHARED_CACHE_SETTINGS_PREFIX + "search.max_queued_cold_shards",
+        1000,
+        0,
+        Setting.Property.NodeScope
+    );
+
     private static final Logger logger = LogManager.getLogger(FrozenCacheService.class);
 
     private final ConcurrentHashMap<RegionKey, Entry<CacheFileRegion>> keyMapping;
 
     private final LongSupplier currentTimeSupplier;
 
+    private final ThreadContext threadContext;
+
     private final KeyedLock<CacheKey> keyedLock = new KeyedLock<>();
 
     private final SharedBytes sharedBytes;
@@ -253,6 +332,21 @@ public class FrozenCacheService implements Releasable {
 
     private final CacheDecayTask decayTask;
 
+    private final long coalesceMaxDistance;
+
+    private final int maxConcurrentColdSearches; // zero if the number of concurrent cold searches is not limited
+    private final int maxQueuedColdSearches;
+    private final Object coldSearchMutex = new Object();
+    private int runningColdSearches; // protected by coldSearchMutex
+    private boolean coldSearchesClosed; // protected by coldSearchMutex
+    private final Deque<PendingColdSearch> pendingColdSearches = new ArrayDeque<>(); // protected by coldSearchMutex
+    private final LongAdder coldSearchQueuedCount = new LongAdder();
+    private final LongAdder coldSearchQueueTimeMillis = new LongAdder();
+
+    private final boolean prefetchEnabled;
+    @Nullable
+    private final RateLimiter prefetchRateLimiter;
+
     private final LongAdder writeCount = new LongAdder();
     private final LongAdder writeBytes = new LongAdder();
 
@@ -264,6 +358,7 @@ public class FrozenCacheService implements Releasable {
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public FrozenCacheService(NodeEnvironment environment, Settings settings, ThreadPool threadPool) {
         this.currentTimeSupplier = threadPool::relativeTimeInMillis;
+        this.threadContext = threadPool.getThreadContext();
         long totalFsSize;
         try {
             totalFsSize = FsProbe.getTotal(Environment.getFileStore(environment.nodeDataPaths()[0]));
@@ -291,7 +386,14 @@ public class FrozenCacheService implements Releasable {
         this.minTimeDelta = SHARED_CACHE_MIN_TIME_DELTA_SETTING.get(settings).millis();
         freqs = new Entry[maxFreq];
         try {
-            sharedBytes = new SharedBytes(numRegions, regionSize, environment, writeBytes::add, readBytes::add);
+            sharedBytes = new SharedBytes(
+                numRegions,
+                regionSize,
+                environment,
+                writeBytes::add,
+                readBytes::add,
+                SHARED_CACHE_MMAP_SETTING.get(settings)
+            );
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -299,6 +401,14 @@ public class FrozenCacheService implements Releasable {
         decayTask.rescheduleIfNecessary();
         this.rangeSize = SHARED_CACHE_RANGE_SIZE_SETTING.get(settings);
         this.recoveryRangeSize = SHARED_CACHE_RECOVERY_RANGE_SIZE_SETTING.get(settings);
+        this.coalesceMaxDistance = SHARED_CACHE_COALESCE_MAX_DISTANCE_SETTING.get(settings).getBytes();
+        this.maxConcurrentColdSearches = SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING.get(settings);
+        this.maxQueuedColdSearches = SHARED_CACHE_SEARCH_MAX_QUEUED_COLD_SHARDS_SETTING.get(settings);
+        this.prefetchEnabled = SHARED_CACHE_PREFETCH_ENABLED_SETTING.get(settings);
+        final ByteSizeValue prefetchMaxBytesPerSec = SHARED_CACHE_PREFETCH_MAX_BYTES_PER_SEC_SETTING.get(settings);
+        this.prefetchRateLimiter = prefetchMaxBytesPerSec.getBytes() <= 0L
+            ? null
+            : new RateLimiter.SimpleRateLimiter(prefetchMaxBytesPerSec.getMbFrac());
     }
 
     static long calculateCacheSize(Settings settings, long totalFsSize) {
@@ -315,6 +425,115 @@ public class FrozenCacheService implements Releasable {
         return toIntBytes(recoveryRangeSize.getBytes());
     }
 
+    /**
+     * Admits a query phase on a partially mounted shard that is likely to miss the cache, see
+     * {@link #SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING}. The listener is completed straight away if the query phase may run,
+     * otherwise it is queued and completed on the thread that releases the permit it is handed over, so it must not block. The listener is
+     * failed if the queue is full, see {@link #SHARED_CACHE_SEARCH_MAX_QUEUED_COLD_SHARDS_SETTING}, if the task is cancelled while it waits
+     * or if this service is closed.
+     *
+     * @param task the task of the query phase, which no longer waits for a permit once it is cancelled
+     * @param listener completed with a releasable to close once the query phase completed, which admits the next waiting query phase
+     */
+    public void acquireColdSearchPermit(CancellableTask task, ActionListener<Releasable> listener) {
+        if (maxConcurrentColdSearches == 0) {
+            listener.onResponse(() -> {});
+            return;
+        }
+        final PendingColdSearch pendingColdSearch;
+        final EsRejectedExecutionException rejection;
+        synchronized (coldSearchMutex) {
+            if (coldSearchesClosed) {
+                pendingColdSearch = null;
+                rejection = closedColdSearchesException();
+            } else if (runningColdSearches < maxConcurrentColdSearches) {
+                runningColdSearches += 1;
+                pendingColdSearch = null;
+                rejection = null;
+            } else if (pendingColdSearches.size() < maxQueuedColdSearches) {
+                // the permit is handed over on another request's thread, so restore the context of the query phase that waits for it
+                pendingColdSearch = new PendingColdSearch(
+                    task,
+                    new ContextPreservingActionListener<>(threadContext.newRestorableContext(false), listener),
+                    currentTimeSupplier.getAsLong()
+                );
+                pendingColdSearches.add(pendingColdSearch);
+                rejection = null;
+            } else {
+                pendingColdSearch = null;
+                rejection = new EsRejectedExecutionException(
+                    "rejected query phase on partially mounted shard, queue capacity [" + maxQueuedColdSearches + "] reached",
+                    false
+                );
+            }
+        }
+        if (rejection != null) {
+            listener.onFailure(rejection);
+        } else if (pendingColdSearch != null) {
+            task.addListener(() -> removeCancelledColdSearch(pendingColdSearch));
+        } else {
+            listener.onResponse(Releasables.releaseOnce(this::releaseColdSearchPermit));
+        }
+    }
+
+    private void releaseColdSearchPermit() {
+        final List<PendingColdSearch> cancelled = new ArrayList<>();
+        PendingColdSearch next;
+        synchronized (coldSearchMutex) {
+            while ((next = pendingColdSearches.poll()) != null && next.task().isCancelled()) {
+                cancelled.add(next);
+            }
+            if (next == null) {
+                runningColdSearches -= 1;
+                assert runningColdSearches >= 0 : runningColdSearches;
+            }
+        }
+        for (PendingColdSearch pendingColdSearch : cancelled) {
+            failCancelledColdSearch(pendingColdSearch);
+        }
+        if (next != null) {
+            // the permit goes to the query phase that waited the longest
+            coldSearchQueuedCount.increment();
+            coldSearchQueueTimeMillis.add(currentTimeSupplier.getAsLong() - next.queuedAtMillis());
+            next.listener().onResponse(Releasables.releaseOnce(this::releaseColdSearchPermit));
+        }
+    }
+
+    private void removeCancelledColdSearch(PendingColdSearch pendingColdSearch) {
+        final boolean removed;
+        synchronized (coldSearchMutex) {
+            removed = pendingColdSearches.remove(pendingColdSearch);
+        }
+        if (removed) {
+            failCancelledColdSearch(pendingColdSearch);
+        }
+    }
+
+    private static void failCancelledColdSearch(PendingColdSearch pendingColdSearch) {
+        final boolean notified = pendingColdSearch.task().notifyIfCancelled(pendingColdSearch.listener());
+        assert notified : "query phase waiting for a permit was not cancelled";
+    }
+
+    private static EsRejectedExecutionException closedColdSearchesException() {
+        return new EsRejectedExecutionException("rejected query phase on partially mounted shard, the shared cache is closed", true);
+    }
+
+    private record PendingColdSearch(CancellableTask task, ActionListener<Releasable> listener, long queuedAtMillis) {}
+
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabled;
+    }
+
+    /**
+     * Blocks the calling thread for as long as needed to keep the rate at which this node prefetches ranges into the cache below
+     * {@link #SHARED_CACHE_PREFETCH_MAX_BYTES_PER_SEC_SETTING}, given that it is about to prefetch the given number of bytes.
+     */
+    public void maybePausePrefetch(long bytes) throws IOException {
+        if (prefetchRateLimiter != null) {
+            prefetchRateLimiter.pause(bytes);
+        }
+    }
+
     private int getRegion(long position) {
         return Math.toIntExact(position / regionSize);
     }
@@ -411,8 +630,9 @@ public class FrozenCacheService implements Releasable {
                         throw new AlreadyClosedException("no free region found");
                     }
                 }
-            } else {
-                // check if we need to promote item
+            } else if (now - entry.lastAccessed >= minTimeDelta) {
+                // check if we need to promote item, only taking the global lock if the item was not accessed recently since most lookups
+                // of a hot region happen in quick succession and need no promotion
                 synchronized (this) {
                     if (now - entry.lastAccessed >= minTimeDelta && entry.freq + 1 < maxFreq) {
                         unlink(entry);
@@ -445,7 +665,9 @@ public class FrozenCacheService implements Releasable {
             writeCount.sum(),
             writeBytes.sum(),
             readCount.sum(),
-            readBytes.sum()
+            readBytes.sum(),
+            coldSearchQueuedCount.sum(),
+            coldSearchQueueTimeMillis.sum()
         );
     }
 
@@ -600,6 +822,15 @@ public class FrozenCacheService implements Releasable {
 
     @Override
     public void close() {
+        final List<PendingColdSearch> pending;
+        synchronized (coldSearchMutex) {
+            coldSearchesClosed = true;
+            pending = new ArrayList<>(pendingColdSearches);
+            pendingColdSearches.clear();
+        }
+        for (PendingColdSearch pendingColdSearch : pending) {
+            pendingColdSearch.listener().onFailure(closedColdSearchesException());
+        }
         sharedBytes.decRef();
         decayTask.close();
     }
@@ -664,7 +895,8 @@ public class FrozenCacheService implements Releasable {
         Entry<T> prev;
         Entry<T> next;
         int freq;
-        long lastAccessed;
+        // read without holding the lock to skip promotion of recently accessed entries, written only while holding it
+        volatile long lastAccessed;
 
         Entry(T chunk, long lastAccessed) {
             this.chunk = chunk;
@@ -758,7 +990,7 @@ public class FrozenCacheService implements Releasable {
                 final ActionListener<Void> rangeListener = rangeListener(rangeToRead, reader, listener, fileChannel);
                 final List<SparseFileTracker.Gap> gaps = tracker.waitForRange(rangeToWrite, rangeToRead, rangeListener);
 
-                for (SparseFileTracker.Gap gap : gaps) {
+                for (List<SparseFileTracker.Gap> coalescedGaps : coalesceGaps(gaps, coalesceMaxDistance)) {
                     executor.execute(new AbstractRunnable() {
 
                         @Override
@@ -768,25 +1000,34 @@ public class FrozenCacheService implements Releasable {
                             }
                             try {
                                 ensureOpen();
-                                final long start = gap.start();
+                                final long start = coalescedGaps.get(0).start();
+                                final long end = coalescedGaps.get(coalescedGaps.size() - 1).end();
                                 assert regionOwners[sharedBytesPos].get() == CacheFileRegion.this;
-                                writer.fillCacheRange(
-                                    fileChannel,
-                                    physicalStartOffset() + gap.start(),
-                                    gap.start(),
-                                    gap.end() - gap.start(),
-                                    progress -> gap.onProgress(start + progress)
-                                );
+                                if (coalescedGaps.size() > 1) {
+                                    writer.onGapsCoalesced(end - start - coalescedGaps.stream().mapToLong(g -> g.end() - g.start()).sum());
+                                }
+                                final long[] gapProgress = new long[coalescedGaps.size()];
+                                writer.fillCacheRange(fileChannel, physicalStartOffset() + start, start, end - start, progress -> {
+                                    // the bytes between coalesced gaps are written again too, only report progress on the gaps themselves
+                                    for (int i = 0; i < coalescedGaps.size(); i++) {
+                                        final SparseFileTracker.Gap gap = coalescedGaps.get(i);
+                                        final long value = Math.min(gap.end(), start + progress);
+                                        if (value > gap.start() && value > gapProgress[i]) {
+                                            gapProgress[i] = value;
+                                            gap.onProgress(value);
+                                        }
+                                    }
+                                });
                                 writeCount.increment();
                             } finally {
                                 decRef();
                             }
-                            gap.onCompletion();
+                            coalescedGaps.forEach(SparseFileTracker.Gap::onCompletion);
                         }
 
                         @Override
                         public void onFailure(Exception e) {
-                            gap.onFailure(e);
+                            coalescedGaps.forEach(gap -> gap.onFailure(e));
                         }
                     });
                 }
@@ -890,10 +1131,24 @@ public class FrozenCacheService implements Releasable {
                         assert channelPos >= fileRegion.physicalStartOffset() && channelPos + len <= fileRegion.physicalEndOffset();
                         return reader.onRangeAvailable(channel, channelPos, relativePos - readOffset, len);
                     },
-                    (channel, channelPos, relativePos, len, progressUpdater) -> {
-                        assert regionOwners[fileRegion.sharedBytesPos].get() == fileRegion;
-                        assert channelPos >= fileRegion.physicalStartOffset() && channelPos + len <= fileRegion.physicalEndOffset();
-                        writer.fillCacheRange(channel, channelPos, relativePos - writeOffset, len, progressUpdater);
+                    new RangeMissingHandler() {
+                        @Override
+                        public void fillCacheRange(
+                            SharedBytes.IO channel,
+                            long channelPos,
+                            long relativePos,
+                            long len,
+                            Consumer<Long> progressUpdater
+                        ) throws IOException {
+                            assert regionOwners[fileRegion.sharedBytesPos].get() == fileRegion;
+                            assert channelPos >= fileRegion.physicalStartOffset() && channelPos + len <= fileRegion.physicalEndOffset();
+                            writer.fillCacheRange(channel, channelPos, relativePos - writeOffset, len, progressUpdater);
+                        }
+
+                        @Override
+                        public void onGapsCoalesced(long overReadBytes) {
+                            writer.onGapsCoalesced(overReadBytes);
+                        }
                     },
                     executor
                 );
@@ -929,11 +1184,37 @@ public class FrozenCacheService implements Releasable {
     public interface RangeMissingHandler {
         void fillCacheRange(SharedBytes.IO channel, long channelPos, long relativePos, long length, Consumer<Long> progressUpdater)
             throws IOException;
+
+        /**
+         * Called before {@link #fillCacheRange} is asked to fill a range that covers several missing ranges at once, see
+         * {@link #SHARED_CACHE_COALESCE_MAX_DISTANCE_SETTING}.
+         *
+         * @param overReadBytes the number of bytes in between the missing ranges, which are already cached or being cached
+         */
+        default void onGapsCoalesced(long overReadBytes) {}
+    }
+
+    /**
+     * Groups the given missing ranges, sorted by their start, such that the distance between consecutive ranges of a group is at most
+     * {@code maxDistance} bytes.
+     */
+    static List<List<SparseFileTracker.Gap>> coalesceGaps(List<SparseFileTracker.Gap> gaps, long maxDistance) {
+        final List<List<SparseFileTracker.Gap>> coalescedGaps = new ArrayList<>();
+        List<SparseFileTracker.Gap> current = null;
+        for (SparseFileTracker.Gap gap : gaps) {
+            if (current == null || gap.start() - current.get(current.size() - 1).end() > maxDistance) {
+                current = new ArrayList<>();
+                coalescedGaps.add(current);
+            }
+            assert current.isEmpty() || current.get(current.size() - 1).end() <= gap.start() : current + " vs " + gap;
+            current.add(gap);
+        }
+        return coalescedGaps;
     }
 
     public static class Stats {
 
-        public static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+        public static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
 
         private final int numberOfRegions;
         private final long size;
@@ -943,6 +1224,8 @@ public class FrozenCacheService implements Releasable {
         private final long writeBytes;
         private final long readCount;
         private final long readBytes;
+        private final long coldSearchQueuedCount;
+        private final long coldSearchQueueTimeInMillis;
 
         private Stats(
             int numberOfRegions,
@@ -952,7 +1235,9 @@ public class FrozenCacheService implements Releasable {
             long writeCount,
             long writeBytes,
             long readCount,
-            long readBytes
+            long readBytes,
+            long coldSearchQueuedCount,
+            long coldSearchQueueTimeInMillis
         ) {
             this.numberOfRegions = numberOfRegions;
             this.size = size;
@@ -962,6 +1247,8 @@ public class FrozenCacheService implements Releasable {
             this.writeBytes = writeBytes;
             this.readCount = readCount;
             this.readBytes = readBytes;
+            this.coldSearchQueuedCount = coldSearchQueuedCount;
+            this.coldSearchQueueTimeInMillis = coldSearchQueueTimeInMillis;
         }
 
         public int getNumberOfRegions() {
@@ -995,5 +1282,13 @@ public class FrozenCacheService implements Releasable {
         public long getReadBytes() {
             return readBytes;
         }
+
+        public long getColdSearchQueuedCount() {
+            return coldSearchQueuedCount;
+        }
+
+        public long getColdSearchQueueTimeInMillis() {
+            return coldSearchQueueTimeInMillis;
+        }
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.index.shard.IndexEventListener;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.index.shard.SearchOperationListener;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.internal.ShardSearchRequest;
+import org.elasticsearch.xpack.searchablesnapshots.store.IndexInputStats;
+import org.elasticsearch.xpack.searchablesnapshots.store.SearchableSnapshotDirectory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This {@link SearchOperationListener} makes the query phases on the shards of a partially mounted index wait for a permit from the
+ * {@link FrozenCacheService} before they are handed over to the search thread pool, unless the previous query phase on the same shard was
+ * served from the cache without reading from the blob store. Shards whose data is already cached therefore run straight away while the
+ * others are admitted in turn, see {@link FrozenCacheService#SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING}. It is also
+ * registered as an {@link IndexEventListener} so that it forgets about the shards that are closed.
+ */
+public class SearchableSnapshotSearchOperationListener implements SearchOperationListener, IndexEventListener {
+
+    private final FrozenCacheService frozenCacheService;
+
+    // shards whose last query phase did not read anything from the blob store
+    private final Set<ShardId> warmShards = ConcurrentCollections.newConcurrentSet();
+    private final Map<SearchContext, RunningQueryPhase> runningQueryPhases = ConcurrentCollections.newConcurrentMap();
+
+    public SearchableSnapshotSearchOperationListener(FrozenCacheService frozenCacheService) {
+        this.frozenCacheService = Objects.requireNonNull(frozenCacheService);
+    }
+
+    @Override
+    public void admitQueryPhase(
+        IndexShard indexShard,
+        ShardSearchRequest request,
+        SearchShardTask task,
+        ActionListener<Releasable> listener
+    ) {
+        final SearchableSnapshotDirectory directory = SearchableSnapshotDirectory.unwrapDirectory(indexShard.store().directory());
+        if (directory == null || warmShards.contains(directory.getShardId())) {
+            listener.onResponse(() -> {});
+        } else {
+            frozenCacheService.acquireColdSearchPermit(task, listener);
+        }
+    }
+
+    @Override
+    public void onPreQueryPhase(SearchContext searchContext) {
+        final SearchableSnapshotDirectory directory = SearchableSnapshotDirectory.unwrapDirectory(
+            searchContext.indexShard().store().directory()
+        );
+        if (directory != null) {
+            runningQueryPhases.put(searchContext, new RunningQueryPhase(directory, blobStoreRequests(directory)));
+        }
+    }
+
+    @Override
+    public void onQueryPhase(SearchContext searchContext, long tookInNanos) {
+        final RunningQueryPhase queryPhase = runningQueryPhases.remove(searchContext);
+        if (queryPhase != null) {
+            final ShardId shardId = queryPhase.directory().getShardId();
+            if (blobStoreRequests(queryPhase.directory()) == queryPhase.blobStoreRequestsBefore()) {
+                warmShards.add(shardId);
+            } else {
+                warmShards.remove(shardId);
+            }
+        }
+    }
+
+    @Override
+    public void onFailedQueryPhase(SearchContext searchContext) {
+        runningQueryPhases.remove(searchContext);
+    }
+
+    @Override
+    public void afterIndexShardClosed(ShardId shardId, @Nullable IndexShard indexShard, Settings indexSettings) {
+        warmShards.remove(shardId);
+    }
+
+    private static long blobStoreRequests(SearchableSnapshotDirectory directory) {
+        long requests = 0L;
+        for (IndexInputStats stats : directory.getStats().values()) {
+            requests += stats.getBlobStoreBytesRequested().count();
+        }
+        return requests;
+    }
+
+    private record RunningQueryPhase(SearchableSnapshotDirectory directory, long blobStoreRequestsBefore) {}
+}
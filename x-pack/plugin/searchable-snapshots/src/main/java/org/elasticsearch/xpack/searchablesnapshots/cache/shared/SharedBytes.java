@@ -13,6 +13,7 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.SuppressForbidden;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
@@ -20,6 +21,7 @@ import org.elasticsearch.xpack.searchablesnapshots.preallocate.Preallocate;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -48,11 +50,20 @@ public class SharedBytes extends AbstractRefCounted {
     private final FileChannel fileChannel;
     private final Path path;
 
+    // read-only mappings of each region, or null if reads go through the file channel
+    private final MappedByteBuffer[] mappedRegions;
+
     private final IntConsumer writeBytes;
     private final IntConsumer readBytes;
 
-    SharedBytes(int numRegions, long regionSize, NodeEnvironment environment, IntConsumer writeBytes, IntConsumer readBytes)
-        throws IOException {
+    SharedBytes(
+        int numRegions,
+        long regionSize,
+        NodeEnvironment environment,
+        IntConsumer writeBytes,
+        IntConsumer readBytes,
+        boolean mmap
+    ) throws IOException {
         this.numRegions = numRegions;
         this.regionSize = regionSize;
         final long fileSize = numRegions * regionSize;
@@ -62,8 +73,10 @@ public class SharedBytes extends AbstractRefCounted {
             Preallocate.preallocate(cacheFile, fileSize);
             this.fileChannel = FileChannel.open(cacheFile, OPEN_OPTIONS);
             assert this.fileChannel.size() == fileSize : "expected file size " + fileSize + " but was " + fileChannel.size();
+            this.mappedRegions = mmap ? mapRegions(fileChannel, numRegions, regionSize) : null;
         } else {
             this.fileChannel = null;
+            this.mappedRegions = null;
             for (Path path : environment.nodeDataPaths()) {
                 Files.deleteIfExists(path.resolve(CACHE_FILE_NAME));
             }
@@ -73,6 +86,26 @@ public class SharedBytes extends AbstractRefCounted {
         this.readBytes = readBytes;
     }
 
+    private static MappedByteBuffer[] mapRegions(FileChannel fileChannel, int numRegions, long regionSize) throws IOException {
+        if (regionSize > Integer.MAX_VALUE) {
+            IOUtils.closeWhileHandlingException(fileChannel);
+            throw new IllegalArgumentException("cannot memory map regions of size [" + regionSize + "] larger than 2gb");
+        }
+        final MappedByteBuffer[] mappedRegions = new MappedByteBuffer[numRegions];
+        boolean success = false;
+        try {
+            for (int i = 0; i < numRegions; i++) {
+                mappedRegions[i] = fileChannel.map(FileChannel.MapMode.READ_ONLY, i * regionSize, regionSize);
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                IOUtils.closeWhileHandlingException(fileChannel);
+            }
+        }
+        return mappedRegions;
+    }
+
     /**
      * Tries to find a suitable path to a searchable snapshots shared cache file in the data paths founds in the environment.
      *
@@ -138,16 +171,27 @@ public class SharedBytes extends AbstractRefCounted {
 
         private final int sharedBytesPos;
         private final long pageStart;
+        @Nullable
+        private final MappedByteBuffer mappedRegion;
 
         private IO(final int sharedBytesPos) {
             this.sharedBytesPos = sharedBytesPos;
             pageStart = getPhysicalOffset(sharedBytesPos);
+            mappedRegion = mappedRegions == null ? null : mappedRegions[sharedBytesPos];
         }
 
         @SuppressForbidden(reason = "Use positional reads on purpose")
         public int read(ByteBuffer dst, long position) throws IOException {
             checkOffsets(position, dst.remaining());
-            final int bytesRead = fileChannel.read(dst, position);
+            final int bytesRead;
+            if (mappedRegion != null) {
+                // absolute bulk get leaves the shared mapping's position untouched so concurrent readers do not interfere
+                bytesRead = dst.remaining();
+                dst.put(dst.position(), mappedRegion, Math.toIntExact(position - pageStart), bytesRead);
+                dst.position(dst.position() + bytesRead);
+            } else {
+                bytesRead = fileChannel.read(dst, position);
+            }
             readBytes.accept(bytesRead);
             return bytesRead;
         }
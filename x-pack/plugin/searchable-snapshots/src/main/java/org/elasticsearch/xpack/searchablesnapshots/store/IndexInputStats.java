@@ -53,6 +53,7 @@ public class IndexInputStats {
     private final TimedCounter cachedBytesWritten = new TimedCounter();
 
     private final Counter blobStoreBytesRequested = new Counter();
+    private final Counter blobStoreBytesOverRead = new Counter();
     private final AtomicLong currentIndexCacheFills = new AtomicLong();
 
     private final Counter luceneBytesRead = new Counter();
@@ -142,6 +143,10 @@ public class IndexInputStats {
         blobStoreBytesRequested.add(bytesRequested);
     }
 
+    public void addBlobStoreBytesOverRead(long bytesOverRead) {
+        blobStoreBytesOverRead.add(bytesOverRead);
+    }
+
     public Releasable addIndexCacheFill() {
         final long openValue = currentIndexCacheFills.incrementAndGet();
         assert openValue > 0 : openValue;
@@ -227,6 +232,10 @@ public class IndexInputStats {
         return blobStoreBytesRequested;
     }
 
+    public Counter getBlobStoreBytesOverRead() {
+        return blobStoreBytesOverRead;
+    }
+
     public Counter getLuceneBytesRead() {
         return luceneBytesRead;
     }
@@ -8,6 +8,7 @@ package org.elasticsearch.xpack.searchablesnapshots.store;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.codecs.CodecUtil;
 import org.apache.lucene.index.IndexFileNames;
 import org.apache.lucene.store.BaseDirectory;
 import org.apache.lucene.store.Directory;
@@ -57,6 +58,7 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.common.CacheKey;
 import org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.FrozenCacheFile;
+import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SharedBytes;
 import org.elasticsearch.xpack.searchablesnapshots.recovery.SearchableSnapshotRecoveryState;
 import org.elasticsearch.xpack.searchablesnapshots.store.input.CachedBlobContainerIndexInput;
 import org.elasticsearch.xpack.searchablesnapshots.store.input.ChecksumBlobContainerIndexInput;
@@ -116,6 +118,26 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
 
     private static final Logger logger = LogManager.getLogger(SearchableSnapshotDirectory.class);
 
+    /**
+     * Extensions of the Lucene files that are read in their entirety when a segment is opened or that are read first by most queries, like
+     * the segment info and compound file entries, the metadata of the various formats and the terms, points and stored fields indices.
+     */
+    static final Set<String> PREFETCHED_FILE_EXTENSIONS = Set.of(
+        "si",
+        "cfe",
+        "fnm",
+        "dvm",
+        "nvm",
+        "kdm",
+        "kdi",
+        "tmd",
+        "tip",
+        "fdm",
+        "fdx",
+        "tvm",
+        "vem"
+    );
+
     private final Supplier<BlobContainer> blobContainerSupplier;
     private final Supplier<BlobStoreIndexShardSnapshot> snapshotSupplier;
     private final BlobStoreCacheService blobStoreCacheService;
@@ -487,6 +509,9 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
         if (prewarmCache == false) {
             recoveryState.setPreWarmComplete();
             listener.onResponse(null);
+            if (partial && useCache && frozenCacheService.isPrefetchEnabled()) {
+                prefetchFrozenCache();
+            }
             return;
         }
 
@@ -571,6 +596,56 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
         }
     }
 
+    /**
+     * Fetches the ranges of the shard files that {@link #computePrefetchRange} expects to be read first into the shared cache, in the
+     * background and without holding up the recovery of the shard.
+     */
+    private void prefetchFrozenCache() {
+        final BlockingQueue<Tuple<ActionListener<Void>, CheckedRunnable<Exception>>> queue = new LinkedBlockingQueue<>();
+        for (BlobStoreIndexShardSnapshot.FileInfo file : snapshot().indexFiles()) {
+            if (file.metadata().hashEqualsContents() || isExcludedFromCache(file.physicalName())) {
+                continue;
+            }
+            final ByteRange range = computePrefetchRange(file.physicalName(), file.length());
+            if (range.isEmpty()) {
+                continue;
+            }
+            final ActionListener<Void> fileListener = ActionListener.wrap(
+                ignored -> logger.trace("{} file [{}] prefetched", shardId, file.physicalName()),
+                e -> logger.debug(() -> format("%s prefetching failed for file [%s]", shardId, file.physicalName()), e)
+            );
+            queue.add(Tuple.tuple(fileListener, () -> {
+                ensureOpen();
+                frozenCacheService.maybePausePrefetch(range.length());
+                try (IndexInput input = openInput(file.physicalName(), IOContext.READ)) {
+                    assert input instanceof FrozenIndexInput : "expected frozen index input but got " + input.getClass();
+                    ((FrozenIndexInput) input).prefetch(range);
+                }
+            }));
+        }
+
+        logger.debug("{} prefetching [{}] files into the shared cache", shardId, queue.size());
+
+        final Executor executor = prewarmExecutor();
+        final int workers = Math.min(threadPool.info(SearchableSnapshots.CACHE_PREWARMING_THREAD_POOL_NAME).getMax(), queue.size());
+        for (int i = 0; i < workers; ++i) {
+            prewarmNext(executor, queue);
+        }
+    }
+
+    /**
+     * Computes the range of the given file to fetch into the shared cache when a partially mounted shard is loaded: the whole file if it
+     * has one of the {@link #PREFETCHED_FILE_EXTENSIONS}, otherwise only its footer which Lucene reads to retrieve the checksum of the file
+     * when opening it.
+     */
+    static ByteRange computePrefetchRange(String fileName, long fileLength) {
+        if (PREFETCHED_FILE_EXTENSIONS.contains(getNonNullFileExt(fileName))) {
+            return ByteRange.of(0L, fileLength);
+        }
+        final long footerStart = Math.max(0L, fileLength - CodecUtil.footerLength());
+        return ByteRange.of(footerStart - footerStart % SharedBytes.PAGE_SIZE, fileLength);
+    }
+
     private void prewarmNext(final Executor executor, final BlockingQueue<Tuple<ActionListener<Void>, CheckedRunnable<Exception>>> queue) {
         try {
             final Tuple<ActionListener<Void>, CheckedRunnable<Exception>> next = queue.poll(0L, TimeUnit.MILLISECONDS);
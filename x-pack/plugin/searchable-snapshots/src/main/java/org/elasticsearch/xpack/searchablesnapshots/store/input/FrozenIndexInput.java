@@ -18,6 +18,7 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot.FileInfo;
 import org.elasticsearch.xpack.searchablesnapshots.cache.common.ByteRange;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.FrozenCacheFile;
+import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.RangeMissingHandler;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SharedBytes;
 import org.elasticsearch.xpack.searchablesnapshots.store.IndexInputStats;
 import org.elasticsearch.xpack.searchablesnapshots.store.SearchableSnapshotDirectory;
@@ -154,14 +155,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
                     luceneByteBufLock,
                     stopAsyncReads
                 ),
-                (channel, channelPos, relativePos, len, progressUpdater) -> {
-                    final long startTimeNanos = stats.currentTimeNanos();
-                    final long streamStartPosition = rangeToWrite.start() + relativePos;
-
-                    try (InputStream input = openInputStreamFromBlobStore(streamStartPosition, len)) {
-                        writeCacheFile(channel, input, channelPos, relativePos, len, progressUpdater, startTimeNanos);
-                    }
-                },
+                blobStoreRangeMissingHandler(rangeToWrite),
                 directory.cacheFetchAsyncExecutor()
             );
 
@@ -176,6 +170,50 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
         }
     }
 
+    /**
+     * Fetches the given range of this file from the blob store into the shared cache, unless it is already there, and waits for it to be
+     * written. Nothing is read back from the cache, so this only serves to make later reads of the range cache hits.
+     *
+     * @param range the range to fetch, whose start must be aligned to {@link SharedBytes#PAGE_SIZE}
+     */
+    public void prefetch(ByteRange range) throws Exception {
+        assert range.start() % SharedBytes.PAGE_SIZE == 0L : range;
+        if (range.isEmpty()) {
+            return;
+        }
+        final StepListener<Integer> populateCacheFuture = frozenCacheFile.populateAndRead(
+            range,
+            range,
+            (channel, pos, relativePos, len) -> Math.toIntExact(len),
+            blobStoreRangeMissingHandler(range),
+            directory.cacheFetchAsyncExecutor()
+        );
+        populateCacheFuture.asFuture().get();
+    }
+
+    /**
+     * @return a handler that fills the missing parts of the given range of this file in the cache by reading them from the blob store
+     */
+    private RangeMissingHandler blobStoreRangeMissingHandler(ByteRange rangeToWrite) {
+        return new RangeMissingHandler() {
+            @Override
+            public void fillCacheRange(SharedBytes.IO channel, long channelPos, long relativePos, long len, Consumer<Long> progressUpdater)
+                throws IOException {
+                final long startTimeNanos = stats.currentTimeNanos();
+                final long streamStartPosition = rangeToWrite.start() + relativePos;
+
+                try (InputStream input = openInputStreamFromBlobStore(streamStartPosition, len)) {
+                    writeCacheFile(channel, input, channelPos, relativePos, len, progressUpdater, startTimeNanos);
+                }
+            }
+
+            @Override
+            public void onGapsCoalesced(long overReadBytes) {
+                stats.addBlobStoreBytesOverRead(overReadBytes);
+            }
+        };
+    }
+
     private static int positionalWrite(SharedBytes.IO fc, long start, ByteBuffer byteBuffer) throws IOException {
         assert assertCurrentThreadMayWriteCacheFile();
         byteBuffer.flip();
@@ -118,6 +118,7 @@ public class SearchableSnapshotsStatsResponseTests extends ESTestCase {
             randomTimedCounter(),
             randomCounter(),
             randomCounter(),
+            randomCounter(),
             randomNonNegativeLong()
         );
     }
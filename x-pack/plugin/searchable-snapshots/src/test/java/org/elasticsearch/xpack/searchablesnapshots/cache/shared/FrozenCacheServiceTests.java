@@ -7,6 +7,10 @@
 
 package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
 
+import org.apache.lucene.util.SetOnce;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.StepListener;
+import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
@@ -16,12 +20,19 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.RatioValue;
 import org.elasticsearch.common.unit.RelativeByteSizeValue;
 import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.Releasable;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.env.TestEnvironment;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.node.NodeRoleSettings;
+import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.TaskCancelHelper;
+import org.elasticsearch.tasks.TaskCancelledException;
+import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xpack.searchablesnapshots.cache.common.ByteRange;
@@ -29,12 +40,20 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.common.CacheKey;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.CacheFileRegion;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.elasticsearch.node.Node.NODE_NAME_SETTING;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -91,6 +110,312 @@ public class FrozenCacheServiceTests extends ESTestCase {
         }
     }
 
+    public void testReadsFromPopulatedRegion() throws IOException {
+        final boolean mmap = randomBoolean();
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_MMAP_SETTING.getKey(), mmap)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheKey cacheKey = generateCacheKey();
+            final byte[] content = randomByteArrayOfLength(Math.toIntExact(size(100)));
+            // use the second region so that its physical offset in the shared file differs from the region relative offset
+            cacheService.get(cacheKey, size(200), 0);
+            final CacheFileRegion region = cacheService.get(cacheKey, size(200), 1);
+
+            final int readStart = randomIntBetween(0, content.length - 1);
+            final int readEnd = randomIntBetween(readStart + 1, content.length);
+            final ByteBuffer readBuffer = ByteBuffer.allocate(readEnd - readStart);
+            final StepListener<Integer> listener = region.populateAndRead(
+                ByteRange.of(0L, content.length),
+                ByteRange.of(readStart, readEnd),
+                (channel, channelPos, relativePos, length) -> {
+                    assertEquals(readStart, relativePos);
+                    return channel.read(readBuffer, channelPos);
+                },
+                (channel, channelPos, relativePos, length, progressUpdater) -> {
+                    channel.write(ByteBuffer.wrap(content, Math.toIntExact(relativePos), Math.toIntExact(length)), channelPos);
+                    progressUpdater.accept(length);
+                },
+                taskQueue.getThreadPool().executor(ThreadPool.Names.GENERIC)
+            );
+            taskQueue.runAllRunnableTasks();
+
+            assertTrue(listener.isDone());
+            assertEquals(readEnd - readStart, listener.result().intValue());
+            assertArrayEquals(Arrays.copyOfRange(content, readStart, readEnd), readBuffer.array());
+            assertEquals(readEnd - readStart, cacheService.getStats().getReadBytes());
+        }
+    }
+
+    public void testNearbyGapsAreCoalesced() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_COALESCE_MAX_DISTANCE_SETTING.getKey(), new ByteSizeValue(size(10)).getStringRep())
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheFileRegion region = cacheService.get(generateCacheKey(), size(100), 0);
+            final FrozenCacheService.RangeMissingHandler zeroesWriter = (channel, channelPos, relativePos, length, progressUpdater) -> {
+                channel.write(ByteBuffer.allocate(Math.toIntExact(length)), channelPos);
+                progressUpdater.accept(length);
+            };
+            final Executor executor = taskQueue.getThreadPool().executor(ThreadPool.Names.GENERIC);
+
+            // cache two ranges so that three gaps remain, the last one too far from the others to be coalesced with them
+            final FrozenCacheService.RangeAvailableHandler noopReader = (channel, pos, relativePos, len) -> Math.toIntExact(len);
+            for (ByteRange range : List.of(ByteRange.of(size(10), size(20)), ByteRange.of(size(25), size(80)))) {
+                region.populateAndRead(range, range, noopReader, zeroesWriter, executor);
+            }
+            taskQueue.runAllRunnableTasks();
+
+            final List<ByteRange> filledRanges = new ArrayList<>();
+            final AtomicLong overReadBytes = new AtomicLong();
+            final StepListener<Integer> listener = region.populateAndRead(
+                ByteRange.of(0L, size(100)),
+                ByteRange.of(0L, size(100)),
+                noopReader,
+                new FrozenCacheService.RangeMissingHandler() {
+                    @Override
+                    public void fillCacheRange(
+                        SharedBytes.IO channel,
+                        long channelPos,
+                        long relativePos,
+                        long length,
+                        Consumer<Long> progressUpdater
+                    ) throws IOException {
+                        filledRanges.add(ByteRange.of(relativePos, relativePos + length));
+                        zeroesWriter.fillCacheRange(channel, channelPos, relativePos, length, progressUpdater);
+                    }
+
+                    @Override
+                    public void onGapsCoalesced(long bytes) {
+                        overReadBytes.addAndGet(bytes);
+                    }
+                },
+                executor
+            );
+            taskQueue.runAllRunnableTasks();
+
+            assertTrue(listener.isDone());
+            assertEquals(size(100), listener.result().longValue());
+            assertThat(filledRanges, containsInAnyOrder(ByteRange.of(0L, size(25)), ByteRange.of(size(80), size(100))));
+            assertEquals(size(10), overReadBytes.get());
+        }
+    }
+
+    public void testColdSearchesAreQueued() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING.getKey(), 1)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final PlainActionFuture<Releasable> firstPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), firstPermit);
+            assertTrue(firstPermit.isDone());
+
+            // the waiting query phases are admitted in order, and without holding up the thread that asked for a permit
+            final PlainActionFuture<Releasable> secondPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), secondPermit);
+            final PlainActionFuture<Releasable> thirdPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), thirdPermit);
+            assertFalse(secondPermit.isDone());
+            assertFalse(thirdPermit.isDone());
+            assertEquals(0L, cacheService.getStats().getColdSearchQueuedCount());
+
+            final long queueTimeMillis = randomLongBetween(1L, 1000L);
+            taskQueue.scheduleAt(taskQueue.getCurrentTimeMillis() + queueTimeMillis, () -> {});
+            taskQueue.advanceTime();
+            firstPermit.actionGet().close();
+            assertTrue(secondPermit.isDone());
+            assertFalse(thirdPermit.isDone());
+            assertEquals(1L, cacheService.getStats().getColdSearchQueuedCount());
+            assertEquals(queueTimeMillis, cacheService.getStats().getColdSearchQueueTimeInMillis());
+
+            // a permit is released once only
+            firstPermit.actionGet().close();
+            assertFalse(thirdPermit.isDone());
+
+            secondPermit.actionGet().close();
+            assertTrue(thirdPermit.isDone());
+            thirdPermit.actionGet().close();
+            assertEquals(2L, cacheService.getStats().getColdSearchQueuedCount());
+
+            // permits are released once the query phases complete
+            final PlainActionFuture<Releasable> lastPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), lastPermit);
+            assertTrue(lastPermit.isDone());
+            lastPermit.actionGet().close();
+            assertEquals(2L, cacheService.getStats().getColdSearchQueuedCount());
+        }
+    }
+
+    public void testQueuedColdSearchRunsInItsOwnThreadContext() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING.getKey(), 1)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        final ThreadContext threadContext = taskQueue.getThreadPool().getThreadContext();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final PlainActionFuture<Releasable> runningPermit = PlainActionFuture.newFuture();
+            try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                threadContext.putHeader("request", "running");
+                cacheService.acquireColdSearchPermit(newTask(), runningPermit);
+            }
+
+            final SetOnce<String> admittedRequest = new SetOnce<>();
+            try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                threadContext.putHeader("request", "waiting");
+                cacheService.acquireColdSearchPermit(
+                    newTask(),
+                    ActionListener.wrap(
+                        permit -> admittedRequest.set(threadContext.getHeader("request")),
+                        e -> { throw new AssertionError(e); }
+                    )
+                );
+            }
+            assertNull(admittedRequest.get());
+
+            // the permit is handed over on the thread of the running query phase, but the waiting one must not see its context
+            try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                threadContext.putHeader("request", "running");
+                runningPermit.actionGet().close();
+                assertEquals("running", threadContext.getHeader("request"));
+            }
+            assertEquals("waiting", admittedRequest.get());
+        }
+    }
+
+    public void testColdSearchQueueIsBounded() throws IOException {
+        final int maxQueuedColdSearches = between(0, 5);
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING.getKey(), 1)
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_QUEUED_COLD_SHARDS_SETTING.getKey(), maxQueuedColdSearches)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final PlainActionFuture<Releasable> runningPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), runningPermit);
+            final List<PlainActionFuture<Releasable>> queuedPermits = new ArrayList<>();
+            for (int i = 0; i < maxQueuedColdSearches; i++) {
+                final PlainActionFuture<Releasable> queuedPermit = PlainActionFuture.newFuture();
+                cacheService.acquireColdSearchPermit(newTask(), queuedPermit);
+                assertFalse(queuedPermit.isDone());
+                queuedPermits.add(queuedPermit);
+            }
+
+            final PlainActionFuture<Releasable> rejectedPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), rejectedPermit);
+            final EsRejectedExecutionException e = expectThrows(EsRejectedExecutionException.class, rejectedPermit::actionGet);
+            assertFalse(e.isExecutorShutdown());
+
+            runningPermit.actionGet().close();
+            for (PlainActionFuture<Releasable> queuedPermit : queuedPermits) {
+                queuedPermit.actionGet().close();
+            }
+        }
+    }
+
+    public void testCancelledColdSearchesStopWaiting() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING.getKey(), 1)
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_QUEUED_COLD_SHARDS_SETTING.getKey(), 1)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final PlainActionFuture<Releasable> runningPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), runningPermit);
+
+            final CancellableTask cancelledTask = newTask();
+            final PlainActionFuture<Releasable> cancelledPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(cancelledTask, cancelledPermit);
+            assertFalse(cancelledPermit.isDone());
+            TaskCancelHelper.cancel(cancelledTask, "simulated");
+            expectThrows(TaskCancelledException.class, cancelledPermit::actionGet);
+
+            // the cancelled query phase no longer takes a place in the queue, nor the next permit
+            final PlainActionFuture<Releasable> waitingPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), waitingPermit);
+            assertFalse(waitingPermit.isDone());
+            runningPermit.actionGet().close();
+            assertTrue(waitingPermit.isDone());
+            waitingPermit.actionGet().close();
+            assertEquals(1L, cacheService.getStats().getColdSearchQueuedCount());
+        }
+    }
+
+    public void testWaitingColdSearchesFailOnClose() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_SEARCH_MAX_CONCURRENT_COLD_SHARDS_SETTING.getKey(), 1)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings))) {
+            final FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool());
+            final PlainActionFuture<Releasable> runningPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), runningPermit);
+            final PlainActionFuture<Releasable> waitingPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), waitingPermit);
+            assertFalse(waitingPermit.isDone());
+
+            cacheService.close();
+            assertTrue(expectThrows(EsRejectedExecutionException.class, waitingPermit::actionGet).isExecutorShutdown());
+
+            final PlainActionFuture<Releasable> rejectedPermit = PlainActionFuture.newFuture();
+            cacheService.acquireColdSearchPermit(newTask(), rejectedPermit);
+            assertTrue(expectThrows(EsRejectedExecutionException.class, rejectedPermit::actionGet).isExecutorShutdown());
+            runningPermit.actionGet().close();
+        }
+    }
+
+    private static CancellableTask newTask() {
+        return new CancellableTask(randomNonNegativeLong(), "test", "test", "", TaskId.EMPTY_TASK_ID, Map.of());
+    }
+
     public void testAutoEviction() throws IOException {
         Settings settings = Settings.builder()
             .put(NODE_NAME_SETTING.getKey(), "node")
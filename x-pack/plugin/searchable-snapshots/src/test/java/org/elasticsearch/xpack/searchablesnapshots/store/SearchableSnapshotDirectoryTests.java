@@ -90,9 +90,11 @@ import org.elasticsearch.test.DummyShardLock;
 import org.elasticsearch.test.IndexSettingsModule;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xpack.searchablesnapshots.AbstractSearchableSnapshotsTestCase;
+import org.elasticsearch.xpack.searchablesnapshots.cache.common.ByteRange;
 import org.elasticsearch.xpack.searchablesnapshots.cache.common.TestUtils;
 import org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService;
+import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SharedBytes;
 import org.elasticsearch.xpack.searchablesnapshots.recovery.SearchableSnapshotRecoveryState;
 import org.elasticsearch.xpack.searchablesnapshots.store.input.ChecksumBlobContainerIndexInput;
 import org.hamcrest.Matcher;
@@ -814,6 +816,22 @@ public class SearchableSnapshotDirectoryTests extends AbstractSearchableSnapshot
         }
     }
 
+    public void testComputePrefetchRange() {
+        final long fileLength = randomLongBetween(1L, ByteSizeUnit.MB.toBytes(10L));
+        final String prefetchedExtension = randomFrom(SearchableSnapshotDirectory.PREFETCHED_FILE_EXTENSIONS);
+        assertThat(
+            SearchableSnapshotDirectory.computePrefetchRange("_0." + prefetchedExtension, fileLength),
+            equalTo(ByteRange.of(0L, fileLength))
+        );
+
+        final String otherExtension = randomFrom("doc", "tim", "dvd", "cfs");
+        final ByteRange footerRange = SearchableSnapshotDirectory.computePrefetchRange("_0." + otherExtension, fileLength);
+        assertThat(footerRange.end(), equalTo(fileLength));
+        assertThat(footerRange.start() % SharedBytes.PAGE_SIZE, equalTo(0L));
+        assertThat(footerRange.start(), lessThanOrEqualTo(Math.max(0L, fileLength - CodecUtil.footerLength())));
+        assertThat(footerRange.length(), lessThanOrEqualTo((long) SharedBytes.PAGE_SIZE + CodecUtil.footerLength()));
+    }
+
     public void testRequiresAdditionalSettings() {
         final List<Setting<String>> requiredSettings = List.of(
             SNAPSHOT_REPOSITORY_NAME_SETTING,